@@ -1,28 +1,133 @@
 package com.example.notifications.config;
 
+import com.example.notifications.repository.NotificationArchiveRepository.ArchiveChunk;
 import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.NotificationCacheEvictor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Configuration
 @RequiredArgsConstructor
 public class ArchiveConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(ArchiveConfig.class);
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    // Rows locked by a concurrent update are skipped and the cursor moves past them,
+    // so a second sweep from the start picks them up without waiting for the next run.
+    private static final int SWEEPS = 2;
+
     private final NotificationRepository repository;
+    private final NotificationCacheEvictor cacheEvictor;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${notification.archive.retention-days:30}")
     private long retentionDays = 30;
+    @Value("${notification.archive.chunk-size:1000}")
+    private int chunkSize = 1000;
+    @Value("${notification.archive.chunk-pause-ms:50}")
+    private long chunkPauseMs = 50;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private ExecutorService archiveExecutor;
+
+    @PostConstruct
+    void startExecutor() {
+        archiveExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("notification-archive-"));
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        if (archiveExecutor != null) {
+            archiveExecutor.shutdownNow();
+        }
+    }
 
-    @Transactional
     @Scheduled(cron = "${notification.archive.cron:0 0 3 * * ?}")
     public void archiveOldNotifications() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Previous notification archive run is still in progress, skipping this one");
+            return;
+        }
+        if (archiveExecutor == null) {
+            archiveSafely();
+            return;
+        }
+        archiveExecutor.execute(this::archiveSafely);
+    }
+
+    private void archiveSafely() {
+        try {
+            archive();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archive() {
         Instant threshold = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
-        repository.archiveCreatedBefore(threshold);
+        long archived = 0;
+        for (int sweep = 0; sweep < SWEEPS && !Thread.currentThread().isInterrupted(); sweep++) {
+            long swept = sweep(threshold);
+            archived += swept;
+            if (swept == 0) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            cacheEvictor.evictAllFeeds();
+            log.info("Archived {} notifications created before {}", archived, threshold);
+        }
+    }
+
+    private long sweep(Instant threshold) {
+        Instant afterCreatedAt = Instant.EPOCH;
+        UUID afterId = MIN_ID;
+        long archived = 0;
+        while (afterCreatedAt.isBefore(threshold)) {
+            Instant fromCreatedAt = afterCreatedAt;
+            UUID fromId = afterId;
+            Optional<ArchiveChunk> chunk = transactionTemplate.execute(
+                    status -> repository.archiveChunk(threshold, fromCreatedAt, fromId, chunkSize));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            archived += chunk.get().archived();
+            afterCreatedAt = chunk.get().lastCreatedAt();
+            afterId = chunk.get().lastId();
+            log.debug("Archived {} notifications up to {} / {}", archived, afterCreatedAt, afterId);
+            if (!pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private boolean pause() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -12,6 +13,9 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -23,11 +27,22 @@ import java.time.Duration;
 @Profile("!test")
 public class CacheConfig {
 
+    /**
+     * Redis key segment of the binary value format. Older instances read {@code <cache>::<key>} with the
+     * JSON serializer, so binary entries live under {@code <cache>:v2::<key>} and both formats can be
+     * served side by side during a rolling deploy.
+     */
+    static final String KEY_FORMAT_VERSION = "v2";
+
     @Value("${spring.data.redis.time-to-live}")
     private long timeToLiveMs;
+    @Value("${notification.cache.local.max-size:10000}")
+    private long localMaxSize;
+    @Value("${notification.cache.local.time-to-live-ms:60000}")
+    private long localTimeToLiveMs;
 
     @Bean
-    public RedisCacheConfiguration cacheConfiguration() {
+    public RedisCacheConfiguration cacheConfiguration(MeterRegistry meterRegistry) {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new Jdk8Module());
         mapper.registerModule(new JavaTimeModule());
@@ -40,21 +55,41 @@ public class CacheConfig {
 
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMillis(timeToLiveMs))
+                .computePrefixWith(cacheName -> cacheName + ":" + KEY_FORMAT_VERSION + "::")
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair
                                 .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair
-                                .fromSerializer(jsonSerializer))
+                                .fromSerializer(new NotificationResponseRedisSerializer(jsonSerializer, meterRegistry)))
                 .disableCachingNullValues();
     }
 
     @Bean
-    public RedisCacheManager cacheManager(
+    public TwoTierCacheManager cacheManager(
             RedisConnectionFactory cf,
-            RedisCacheConfiguration cacheConfig) {
-        return RedisCacheManager.builder(cf)
+            RedisCacheConfiguration cacheConfig,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cf)
                 .cacheDefaults(cacheConfig)
                 .build();
+        redisCacheManager.initializeCaches();
+        return new TwoTierCacheManager(
+                redisCacheManager,
+                redisTemplate,
+                meterRegistry,
+                localMaxSize,
+                Duration.ofMillis(localTimeToLiveMs));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory cf,
+            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 }
@@ -0,0 +1,57 @@
+package com.example.notifications.config;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+@RequiredArgsConstructor
+public class ExolveClientConfig {
+
+    private final ExolveProperties exolveProperties;
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory exolveRequestFactory() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(exolveProperties.getMaxConnections())
+                .setMaxConnPerRoute(exolveProperties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(exolveProperties.getConnectionTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(exolveProperties.getReadTimeoutMs()))
+                        .build())
+                .build();
+        TimeValue keepAlive = TimeValue.ofMilliseconds(exolveProperties.getKeepAliveMs());
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(
+                                exolveProperties.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(exolveProperties.getReadTimeoutMs()))
+                        .setConnectionKeepAlive(keepAlive)
+                        .build())
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    public RestClient exolveRestClient(
+            RestClient.Builder restClientBuilder,
+            HttpComponentsClientHttpRequestFactory exolveRequestFactory) {
+        return restClientBuilder.clone()
+                .requestFactory(exolveRequestFactory)
+                .baseUrl(exolveProperties.getBaseUrl())
+                .build();
+    }
+}
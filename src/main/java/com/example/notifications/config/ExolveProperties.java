@@ -12,4 +12,9 @@ public class ExolveProperties {
     private String apiKey;
     private String baseUrl = "https://api.exolve.ru";
     private String senderNumber;
+    private int maxConnections = 50;
+    private int connectionTimeoutMs = 5000;
+    private int connectionRequestTimeoutMs = 2000;
+    private int readTimeoutMs = 10000;
+    private long keepAliveMs = 30000;
 }
@@ -2,6 +2,7 @@ package com.example.notifications.config;
 
 import com.example.notifications.service.delivery.FcmClient;
 import com.example.notifications.service.delivery.FirebaseFcmClient;
+import com.example.notifications.service.delivery.StubFcmClient;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
@@ -42,11 +43,19 @@ public class FirebaseMessagingConfig {
         return new FirebaseFcmClient(FirebaseMessaging.getInstance(notificationFirebaseApp));
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "notification.push", name = "provider", havingValue = "FCM_STUB")
+    public FcmClient stubFcmClient() {
+        return new StubFcmClient(pushProperties.getFcm().getStubLatencyMs());
+    }
+
     private FirebaseApp initializeFirebaseApp() {
         PushProperties.Fcm fcm = pushProperties.getFcm();
         try (InputStream credentialsStream = credentialsStream(fcm)) {
             FirebaseOptions.Builder options = FirebaseOptions.builder()
-                    .setCredentials(GoogleCredentials.fromStream(credentialsStream));
+                    .setCredentials(GoogleCredentials.fromStream(credentialsStream))
+                    .setConnectTimeout(fcm.getConnectTimeoutMs())
+                    .setReadTimeout(fcm.getReadTimeoutMs());
             if (StringUtils.hasText(fcm.getProjectId())) {
                 options.setProjectId(fcm.getProjectId());
             }
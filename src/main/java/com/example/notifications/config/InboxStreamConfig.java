@@ -0,0 +1,26 @@
+package com.example.notifications.config;
+
+import com.example.notifications.service.InboxStreamService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@Profile("!test")
+@ConditionalOnProperty(prefix = "notification.inbox-stream", name = "redis-enabled", havingValue = "true")
+public class InboxStreamConfig {
+
+    @Bean
+    public RedisMessageListenerContainer inboxEventListenerContainer(
+            RedisConnectionFactory cf,
+            InboxStreamService inboxStreamService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(inboxStreamService, new ChannelTopic(InboxStreamService.EVENTS_CHANNEL));
+        return container;
+    }
+}
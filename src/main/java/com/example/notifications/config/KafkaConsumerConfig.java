@@ -1,5 +1,7 @@
 package com.example.notifications.config;
 
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.service.NotificationFanoutService;
 import com.example.notifications.service.NotificationProcessingFailureService;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -33,9 +35,13 @@ public class KafkaConsumerConfig {
     private long retryBackoffMs;
     @Value("${kafka.consumer.retry.max-attempts}")
     private long retryMaxAttempts;
+    @Value("${kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
 
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final NotificationProcessingFailureService failureService;
+    private final NotificationFanoutService fanoutService;
+    private final KafkaConsumerProperties consumerProperties;
 
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
@@ -44,24 +50,70 @@ public class KafkaConsumerConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory(
             DefaultErrorHandler kafkaErrorHandler) {
-        var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setCommonErrorHandler(kafkaErrorHandler);
-        return factory;
+        return containerFactory(kafkaErrorHandler, 1);
     }
 
     @Bean
-    public DefaultErrorHandler kafkaErrorHandler() {
-        DeadLetterPublishingRecoverer dltRecoverer = new DeadLetterPublishingRecoverer(
-                kafkaTemplate,
-                (record, exception) -> new TopicPartition(record.topic() + ".dlt", record.partition())
+    public ConcurrentKafkaListenerContainerFactory<String, String> emailListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.EMAIL).getConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> smsListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.SMS).getConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> pushListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.PUSH).getConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> emailUrgentListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.EMAIL).getUrgentConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> smsUrgentListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.SMS).getUrgentConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> pushUrgentListenerContainerFactory(
+            DefaultErrorHandler kafkaErrorHandler) {
+        return containerFactory(kafkaErrorHandler, consumerProperties.settingsFor(Channel.PUSH).getUrgentConcurrency());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> fanoutListenerContainerFactory() {
+        DeadLetterPublishingRecoverer dltRecoverer = deadLetterRecoverer();
+        ConsumerRecordRecoverer recoverer = (record, exception) -> {
+            dltRecoverer.accept(record, exception);
+            fanoutService.recordDeadLettered(String.valueOf(record.key()), String.valueOf(record.value()));
+        };
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(
+                recoverer,
+                new FixedBackOff(retryBackoffMs, retryMaxAttempts)
         );
+        errorHandler.addNotRetryableExceptions(IllegalArgumentException.class);
+        return containerFactory(errorHandler, consumerProperties.getFanoutConcurrency());
+    }
+
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        DeadLetterPublishingRecoverer dltRecoverer = deadLetterRecoverer();
         ConsumerRecordRecoverer recoverer = (record, exception) -> recover(record, exception, dltRecoverer);
         DefaultErrorHandler errorHandler = new DefaultErrorHandler(
                 recoverer,
@@ -71,6 +123,24 @@ public class KafkaConsumerConfig {
         return errorHandler;
     }
 
+    private DeadLetterPublishingRecoverer deadLetterRecoverer() {
+        return new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + ".dlt", record.partition())
+        );
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, String> containerFactory(
+            DefaultErrorHandler kafkaErrorHandler,
+            int concurrency) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(kafkaErrorHandler);
+        return factory;
+    }
+
     private void recover(
             ConsumerRecord<?, ?> record,
             Exception exception,
@@ -0,0 +1,39 @@
+package com.example.notifications.config;
+
+import com.example.notifications.entity.enums.Channel;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kafka.consumer")
+@Data
+public class KafkaConsumerProperties {
+
+    private Channels channels = new Channels();
+    private int fanoutConcurrency = 1;
+    private long deliveryTimeoutMs = 60_000;
+
+    public ChannelSettings settingsFor(Channel channel) {
+        return switch (channel) {
+            case EMAIL -> channels.getEmail();
+            case SMS -> channels.getSms();
+            case PUSH -> channels.getPush();
+        };
+    }
+
+    @Data
+    public static class Channels {
+        private ChannelSettings email = new ChannelSettings();
+        private ChannelSettings sms = new ChannelSettings();
+        private ChannelSettings push = new ChannelSettings();
+    }
+
+    @Data
+    public static class ChannelSettings {
+        private int concurrency = 1;
+        private int urgentConcurrency = 1;
+        private int keyParallelism = 1;
+        private int sentFlushSize = 50;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.notifications.config;
 
+import com.example.notifications.entity.enums.Channel;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.context.annotation.Bean;
@@ -7,6 +8,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 @Configuration
 @RequiredArgsConstructor
 public class KafkaTopicConfig {
@@ -14,19 +18,32 @@ public class KafkaTopicConfig {
     private static final String DLT_SUFFIX = ".dlt";
 
     private final KafkaTopicProperties topicProperties;
+    private final KafkaConsumerProperties consumerProperties;
 
     @Bean
     public KafkaAdmin.NewTopics notificationTopics() {
-        NewTopic[] topics = topicProperties.notificationTopics().stream()
-                .flatMap(topic -> java.util.stream.Stream.of(topic, topic + DLT_SUFFIX))
-                .map(this::topic)
+        NewTopic[] topics = Stream.concat(
+                        Arrays.stream(Channel.values()).flatMap(this::channelTopics),
+                        withDeadLetterTopic(topicProperties.getPushFanout(), consumerProperties.getFanoutConcurrency()))
                 .toArray(NewTopic[]::new);
         return new KafkaAdmin.NewTopics(topics);
     }
 
-    private NewTopic topic(String name) {
+    private Stream<NewTopic> channelTopics(Channel channel) {
+        KafkaConsumerProperties.ChannelSettings settings = consumerProperties.settingsFor(channel);
+        return Stream.concat(
+                withDeadLetterTopic(topicProperties.topicFor(channel), settings.getConcurrency()),
+                withDeadLetterTopic(topicProperties.urgentTopicFor(channel), settings.getUrgentConcurrency()));
+    }
+
+    private Stream<NewTopic> withDeadLetterTopic(String topic, int concurrency) {
+        int partitions = Math.max(topicProperties.getPartitions(), concurrency);
+        return Stream.of(topic(topic, partitions), topic(topic + DLT_SUFFIX, partitions));
+    }
+
+    private NewTopic topic(String name, int partitions) {
         return TopicBuilder.name(name)
-                .partitions(topicProperties.getPartitions())
+                .partitions(partitions)
                 .replicas(topicProperties.getReplicas())
                 .build();
     }
@@ -1,6 +1,7 @@
 package com.example.notifications.config;
 
 import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.NotificationPriority;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -15,8 +16,10 @@ public class KafkaTopicProperties {
     private String email;
     private String sms;
     private String push;
+    private String pushFanout;
     private int partitions = 3;
     private short replicas = 1;
+    private String urgentSuffix = ".urgent";
 
     public String topicFor(Channel channel) {
         return switch (channel) {
@@ -26,7 +29,19 @@ public class KafkaTopicProperties {
         };
     }
 
+    public String topicFor(Channel channel, NotificationPriority priority) {
+        return isUrgent(priority) ? urgentTopicFor(channel) : topicFor(channel);
+    }
+
+    public String urgentTopicFor(Channel channel) {
+        return topicFor(channel) + urgentSuffix;
+    }
+
     public List<String> notificationTopics() {
         return List.of(email, sms, push);
     }
+
+    private boolean isUrgent(NotificationPriority priority) {
+        return priority == NotificationPriority.HIGH || priority == NotificationPriority.URGENT;
+    }
 }
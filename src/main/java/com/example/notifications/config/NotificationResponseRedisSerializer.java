@@ -0,0 +1,171 @@
+package com.example.notifications.config;
+
+import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.NotificationPriority;
+import com.example.notifications.entity.enums.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+@Slf4j
+public class NotificationResponseRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = 0x01;
+    static final byte VERSION = 1;
+    static final String UNKNOWN_VERSION_METRIC = "notifications.cache.serializer.unknown.version";
+
+    private static final int HEADER_SIZE = 2;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final RedisSerializer<Object> fallback;
+    private final Counter unknownVersions;
+
+    public NotificationResponseRedisSerializer(RedisSerializer<Object> fallback, MeterRegistry meterRegistry) {
+        this.fallback = fallback;
+        this.unknownVersions = meterRegistry.counter(UNKNOWN_VERSION_METRIC);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (!(value instanceof NotificationResponse response)) {
+            return fallback.serialize(value);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            writeUuid(out, response.getId());
+            writeString(out, response.getRecipientId());
+            writeEnum(out, response.getAudienceType());
+            writeString(out, response.getAudienceTarget());
+            writeString(out, response.getDestination());
+            writeEnum(out, response.getChannel());
+            writeString(out, response.getPayload());
+            writeEnum(out, response.getPriority());
+            writeEnum(out, response.getDeliveryStatus());
+            writeInstant(out, response.getCreatedAt());
+            writeInstant(out, response.getSentAt());
+            writeInstant(out, response.getExpiresAt());
+            writeString(out, response.getIdempotencyKey());
+            writeString(out, response.getErrorDescription());
+            writeBoolean(out, response.getIsRead());
+            writeBoolean(out, response.getArchived());
+        } catch (IOException e) {
+            throw new SerializationException("Could not write NotificationResponse " + response.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes[1] != VERSION) {
+            unknownVersions.increment();
+            log.warn("Skipping NotificationResponse cache entry with unsupported format version {}", bytes[1]);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE))) {
+            return NotificationResponse.builder()
+                    .id(readUuid(in))
+                    .recipientId(readString(in))
+                    .audienceType(readEnum(in, AudienceType.class))
+                    .audienceTarget(readString(in))
+                    .destination(readString(in))
+                    .channel(readEnum(in, Channel.class))
+                    .payload(readString(in))
+                    .priority(readEnum(in, NotificationPriority.class))
+                    .deliveryStatus(readEnum(in, Status.class))
+                    .createdAt(readInstant(in))
+                    .sentAt(readInstant(in))
+                    .expiresAt(readInstant(in))
+                    .idempotencyKey(readString(in))
+                    .errorDescription(readString(in))
+                    .isRead(readBoolean(in))
+                    .archived(readBoolean(in))
+                    .build();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new SerializationException("Could not read NotificationResponse from cache", e);
+        }
+    }
+
+    private void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getMostSignificantBits());
+            out.writeLong(value.getLeastSignificantBits());
+        }
+    }
+
+    private UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] encoded = new byte[length];
+        in.readFully(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    private <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+
+    private void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private Boolean readBoolean(DataInputStream in) throws IOException {
+        byte value = in.readByte();
+        return value < 0 ? null : value == 1;
+    }
+}
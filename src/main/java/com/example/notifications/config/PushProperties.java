@@ -11,10 +11,14 @@ public class PushProperties {
 
     private Provider provider = Provider.SIMULATED;
     private Fcm fcm = new Fcm();
+    private Coalescing coalescing = new Coalescing();
+    private SubscriptionCache subscriptionCache = new SubscriptionCache();
+    private TokenHealth tokenHealth = new TokenHealth();
 
     public enum Provider {
         SIMULATED,
-        FCM
+        FCM,
+        FCM_STUB
     }
 
     @Data
@@ -23,5 +27,28 @@ public class PushProperties {
         private String credentialsPath;
         private String credentialsBase64;
         private String defaultTitle = "NotificationService";
+        private long stubLatencyMs = 50;
+        private int connectTimeoutMs = 5_000;
+        private int readTimeoutMs = 10_000;
+    }
+
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+        private long windowMs = 5;
+        private int maxBatchSize = 500;
+        private int threads = 4;
+    }
+
+    @Data
+    public static class SubscriptionCache {
+        private long maxSize = 100_000;
+        private long ttlSeconds = 30;
+    }
+
+    @Data
+    public static class TokenHealth {
+        private int failureThreshold = 5;
+        private long suppressionMinutes = 60;
     }
 }
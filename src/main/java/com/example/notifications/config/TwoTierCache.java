@@ -0,0 +1,140 @@
+package com.example.notifications.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    static final String REQUESTS_METRIC = "notifications.cache.requests";
+
+    private final org.springframework.cache.Cache remote;
+    private final Cache<Object, Object> local;
+    private final Consumer<Collection<?>> remoteEvictor;
+    private final Consumer<Collection<?>> invalidationPublisher;
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(
+            org.springframework.cache.Cache remote,
+            Cache<Object, Object> local,
+            Consumer<Collection<?>> remoteEvictor,
+            Consumer<Collection<?>> invalidationPublisher,
+            MeterRegistry meterRegistry
+    ) {
+        this.remote = remote;
+        this.local = local;
+        this.remoteEvictor = remoteEvictor;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localHits = counter(meterRegistry, "local", "hit");
+        this.localMisses = counter(meterRegistry, "local", "miss");
+        this.remoteHits = counter(meterRegistry, "redis", "hit");
+        this.remoteMisses = counter(meterRegistry, "redis", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return wrapper;
+        }
+        remoteHits.increment();
+        local.put(key, wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value == null) {
+            local.invalidate(key);
+        } else {
+            local.put(key, value);
+        }
+        invalidationPublisher.accept(List.of(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictAll(List.of(key));
+    }
+
+    public void evictAll(Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        remoteEvictor.accept(keys);
+        local.invalidateAll(keys);
+        invalidationPublisher.accept(keys);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.accept(null);
+    }
+
+    void evictLocal(Collection<?> keys) {
+        if (keys == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidateAll(keys);
+        }
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return meterRegistry.counter(REQUESTS_METRIC, "cache", remote.getName(), "tier", tier, "result", result);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.notifications.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    static final String INVALIDATION_CHANNEL = "notification-cache-invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+    private static final String SEPARATOR = "|";
+    private static final String CLEAR_MARKER = "*";
+    private static final String KEY_SEPARATOR = "\n";
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheManager remote,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            long localMaxSize,
+            Duration localTtl
+    ) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new TwoTierCache(
+                remoteCache,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .build(),
+                remoteEvictor(remoteCache),
+                keys -> publishInvalidation(cacheName, keys),
+                meterRegistry));
+    }
+
+    private Consumer<Collection<?>> remoteEvictor(Cache remoteCache) {
+        if (remoteCache instanceof RedisCache redisCache) {
+            String prefix = redisCache.getCacheConfiguration().getKeyPrefixFor(redisCache.getName());
+            return keys -> redisTemplate.delete(keys.stream()
+                    .map(key -> prefix + key)
+                    .toList());
+        }
+        return keys -> keys.forEach(remoteCache::evict);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(CLEAR_MARKER.equals(parts[2]) ? null : Arrays.asList(parts[2].split(KEY_SEPARATOR)));
+        }
+    }
+
+    private void publishInvalidation(String cacheName, Collection<?> keys) {
+        String target = keys == null
+                ? CLEAR_MARKER
+                : keys.stream().map(String::valueOf).collect(Collectors.joining(KEY_SEPARATOR));
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + SEPARATOR + cacheName + SEPARATOR + target);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish cache invalidation for {}:{}: {}", cacheName, target, e.getMessage());
+        }
+    }
+}
@@ -3,12 +3,12 @@ package com.example.notifications.consumer;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.service.NotificationDeliveryProcessor;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class EmailConsumer {
@@ -17,12 +17,19 @@ public class EmailConsumer {
 
     @KafkaListener(
             topics = "${kafka.topic.email}",
-            groupId = "${kafka.consumer.group.email}"
+            groupId = "${kafka.consumer.group.email}",
+            containerFactory = "emailListenerContainerFactory"
+    )
+    public void listen(List<ConsumerRecord<String, String>> records) {
+        deliveryProcessor.processBatch(Channel.EMAIL, records);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.email}${kafka.topic.urgent-suffix}",
+            groupId = "${kafka.consumer.group.email}-urgent",
+            containerFactory = "emailUrgentListenerContainerFactory"
     )
-    public void listen(
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Payload String value
-    ) {
-        deliveryProcessor.process(Channel.EMAIL, key, value);
+    public void listenUrgent(List<ConsumerRecord<String, String>> records) {
+        deliveryProcessor.processUrgentBatch(Channel.EMAIL, records);
     }
 }
@@ -0,0 +1,25 @@
+package com.example.notifications.consumer;
+
+import com.example.notifications.service.FanoutDeliveryProcessor;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PushFanoutConsumer {
+
+    private final FanoutDeliveryProcessor deliveryProcessor;
+
+    @KafkaListener(
+            topics = "${kafka.topic.push-fanout}",
+            groupId = "${kafka.consumer.group.push-fanout}",
+            containerFactory = "fanoutListenerContainerFactory"
+    )
+    public void listen(List<ConsumerRecord<String, String>> records) {
+        deliveryProcessor.processBatch(records);
+    }
+}
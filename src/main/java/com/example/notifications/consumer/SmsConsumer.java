@@ -3,12 +3,12 @@ package com.example.notifications.consumer;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.service.NotificationDeliveryProcessor;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class SmsConsumer {
@@ -17,12 +17,19 @@ public class SmsConsumer {
 
     @KafkaListener(
             topics = "${kafka.topic.sms}",
-            groupId = "${kafka.consumer.group.sms}"
+            groupId = "${kafka.consumer.group.sms}",
+            containerFactory = "smsListenerContainerFactory"
+    )
+    public void listen(List<ConsumerRecord<String, String>> records) {
+        deliveryProcessor.processBatch(Channel.SMS, records);
+    }
+
+    @KafkaListener(
+            topics = "${kafka.topic.sms}${kafka.topic.urgent-suffix}",
+            groupId = "${kafka.consumer.group.sms}-urgent",
+            containerFactory = "smsUrgentListenerContainerFactory"
     )
-    public void listen(
-            @Header(KafkaHeaders.RECEIVED_KEY) String key,
-            @Payload String value
-    ) {
-        deliveryProcessor.process(Channel.SMS, key, value);
+    public void listenUrgent(List<ConsumerRecord<String, String>> records) {
+        deliveryProcessor.processUrgentBatch(Channel.SMS, records);
     }
 }
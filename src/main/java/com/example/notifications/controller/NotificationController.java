@@ -1,10 +1,18 @@
 package com.example.notifications.controller;
 
 import com.example.notifications.dto.ApiErrorResponse;
+import com.example.notifications.dto.InboxEvent;
+import com.example.notifications.dto.NotificationBatchItemResponse;
+import com.example.notifications.dto.NotificationBatchRequest;
+import com.example.notifications.dto.NotificationFeedResponse;
+import com.example.notifications.dto.NotificationReadRequest;
+import com.example.notifications.dto.NotificationReadResponse;
 import com.example.notifications.dto.NotificationRequest;
 import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.dto.UnreadCountResponse;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
+import com.example.notifications.service.InboxStreamService;
 import com.example.notifications.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,7 +41,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,6 +54,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService service;
+    private final InboxStreamService inboxStreamService;
 
     @Operation(
             summary = "Создать уведомления",
@@ -112,6 +123,61 @@ public class NotificationController {
         return service.createNotifications(request);
     }
 
+    @Operation(
+            summary = "Создать уведомления пакетом",
+            description = "Создает уведомления для нескольких запросов за один вызов. Ключи идемпотентности "
+                    + "проверяются одним запросом, уведомления и записи outbox вставляются пакетами JDBC. "
+                    + "Для каждого запроса возвращается отдельный результат: CREATED, EXISTING или CONFLICT.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Пакет запросов на создание уведомлений",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = NotificationBatchRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Batch",
+                                    value = """
+                                            {
+                                              "notifications": [
+                                                {
+                                                  "recipientId": "grinya",
+                                                  "payload": "Тестовое уведомление",
+                                                  "channels": ["EMAIL"],
+                                                  "idempotencyKey": "batch-demo-1",
+                                                  "channelDestinations": {
+                                                    "EMAIL": "notificationservicedemo@yandex.ru"
+                                                  }
+                                                },
+                                                {
+                                                  "recipientId": "demo-user",
+                                                  "payload": "Тестовое уведомление",
+                                                  "channels": ["SMS"],
+                                                  "idempotencyKey": "batch-demo-2",
+                                                  "channelDestinations": {
+                                                    "SMS": "79048269449"
+                                                  }
+                                                }
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Результаты по каждому запросу пакета",
+                            content = @Content(array = @ArraySchema(schema = @Schema(
+                                    implementation = NotificationBatchItemResponse.class)))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<NotificationBatchItemResponse> createBatch(
+            @Valid @RequestBody NotificationBatchRequest request
+    ) {
+        return service.createNotificationsBatch(request.getNotifications());
+    }
+
     @Operation(
             summary = "Получить уведомление по ID",
             description = "Возвращает данные конкретного уведомления.",
@@ -162,6 +228,81 @@ public class NotificationController {
         return ResponseEntity.ok(service.getAll(recipientId, channels, statuses, page, size));
     }
 
+    @Operation(
+            summary = "Лента уведомлений пользователя",
+            description = "Возвращает активные уведомления получателя от новых к старым без подсчета общего "
+                    + "количества. Следующая страница запрашивается по курсору nextCursor из предыдущего ответа, "
+                    + "поэтому стоимость запроса не растет с номером страницы. Первая страница без фильтров "
+                    + "кешируется и сбрасывается при изменении уведомлений получателя.",
+            parameters = {
+                    @Parameter(name = "recipientId", description = "Идентификатор получателя", required = true,
+                            in = ParameterIn.QUERY),
+                    @Parameter(name = "channels", description = "Каналы для фильтрации", in = ParameterIn.QUERY,
+                            array = @ArraySchema(schema = @Schema(implementation = Channel.class))),
+                    @Parameter(name = "statuses", description = "Статусы для фильтрации", in = ParameterIn.QUERY,
+                            array = @ArraySchema(schema = @Schema(implementation = Status.class))),
+                    @Parameter(name = "cursor", description = "Курсор nextCursor предыдущей страницы",
+                            in = ParameterIn.QUERY),
+                    @Parameter(name = "size", description = "Размер страницы от 1 до 100", in = ParameterIn.QUERY)
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Страница ленты",
+                            content = @Content(schema = @Schema(implementation = NotificationFeedResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса или неверный курсор",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @GetMapping(value = "/feed", produces = MediaType.APPLICATION_JSON_VALUE)
+    public NotificationFeedResponse getFeed(
+            @NotBlank @RequestParam String recipientId,
+            @RequestParam(required = false) List<Channel> channels,
+            @RequestParam(required = false) List<Status> statuses,
+            @RequestParam(required = false) String cursor,
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size
+    ) {
+        return service.getFeed(recipientId, channels, statuses, cursor, size);
+    }
+
+    @Operation(
+            summary = "Количество непрочитанных уведомлений",
+            description = "Возвращает количество непрочитанных активных уведомлений получателя. Значение берется "
+                    + "из счетчика, который обновляется при создании, прочтении и архивации уведомлений, поэтому "
+                    + "стоимость запроса не зависит от числа уведомлений получателя.",
+            parameters = @Parameter(name = "recipientId", description = "Идентификатор получателя", required = true,
+                    in = ParameterIn.QUERY),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Количество непрочитанных уведомлений",
+                            content = @Content(schema = @Schema(implementation = UnreadCountResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @GetMapping(value = "/unread-count", produces = MediaType.APPLICATION_JSON_VALUE)
+    public UnreadCountResponse getUnreadCount(@NotBlank @RequestParam String recipientId) {
+        return service.getUnreadCount(recipientId);
+    }
+
+    @Operation(
+            summary = "Поток событий входящих уведомлений",
+            description = "Открывает Server-Sent Events поток для получателя вместо периодического опроса списка. "
+                    + "События CREATED и SENT приходят при создании и доставке уведомлений на любом экземпляре "
+                    + "сервиса, раз в 25 секунд отправляется комментарий heartbeat. После разрыва соединения "
+                    + "клиент переподключается и дочитывает пропущенное через ленту.",
+            parameters = @Parameter(name = "recipientId", description = "Идентификатор получателя", required = true,
+                    in = ParameterIn.QUERY),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Поток событий",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = InboxEvent.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@NotBlank @RequestParam String recipientId) {
+        return inboxStreamService.subscribe(recipientId);
+    }
+
     @Operation(
             summary = "Отметить как прочитанное",
             description = "Меняет флаг isRead на true.",
@@ -179,6 +320,67 @@ public class NotificationController {
         service.markAsRead(id);
     }
 
+    @Operation(
+            summary = "Отметить несколько уведомлений как прочитанные",
+            description = "Отмечает переданные уведомления одним UPDATE. Уже прочитанные и отсутствующие "
+                    + "уведомления пропускаются, версия каждой измененной записи увеличивается.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "UUID уведомлений",
+                    required = true,
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = NotificationReadRequest.class),
+                            examples = @ExampleObject(
+                                    name = "Ids",
+                                    value = """
+                                            {
+                                              "ids": [
+                                                "4bd32bf3-841f-441f-9bbd-83b99427c2d4",
+                                                "6f1c2a0e-3b7d-4c5e-9a8f-1d2e3f4a5b6c"
+                                              ]
+                                            }
+                                            """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Количество отмеченных уведомлений",
+                            content = @Content(schema = @Schema(implementation = NotificationReadResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @PatchMapping(value = "/read", produces = MediaType.APPLICATION_JSON_VALUE)
+    public NotificationReadResponse markReadBatch(@Valid @RequestBody NotificationReadRequest request) {
+        return new NotificationReadResponse(service.markAsRead(request.getIds()));
+    }
+
+    @Operation(
+            summary = "Отметить все уведомления получателя как прочитанные",
+            description = "Одним UPDATE отмечает активные уведомления получателя, созданные не позже before. "
+                    + "Если before не передан, используется текущее время.",
+            parameters = {
+                    @Parameter(name = "recipientId", description = "Идентификатор получателя", required = true,
+                            in = ParameterIn.QUERY),
+                    @Parameter(name = "before", description = "Граница по времени создания в формате ISO-8601",
+                            in = ParameterIn.QUERY, example = "2026-01-01T10:00:00Z")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Количество отмеченных уведомлений",
+                            content = @Content(schema = @Schema(implementation = NotificationReadResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Ошибка валидации запроса",
+                            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+            }
+    )
+    @PatchMapping(value = "/read-all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public NotificationReadResponse markAllRead(
+            @NotBlank @RequestParam String recipientId,
+            @RequestParam(required = false) Instant before
+    ) {
+        Instant threshold = before == null ? Instant.now() : before;
+        return new NotificationReadResponse(service.markAllAsRead(recipientId, threshold));
+    }
+
     @Operation(
             summary = "Отметить как непрочитанное",
             description = "Меняет флаг isRead на false.",
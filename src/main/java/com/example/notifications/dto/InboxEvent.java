@@ -0,0 +1,29 @@
+package com.example.notifications.dto;
+
+import com.example.notifications.entity.enums.Channel;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InboxEvent {
+
+    @Schema(description = "Тип события: CREATED или SENT.", example = "CREATED")
+    private InboxEventType type;
+    @Schema(description = "UUID уведомления.", example = "4bd32bf3-841f-441f-9bbd-83b99427c2d4")
+    private UUID notificationId;
+    @Schema(description = "Идентификатор получателя.", example = "user@example.com")
+    private String recipientId;
+    @Schema(description = "Канал уведомления.", example = "EMAIL")
+    private Channel channel;
+    @Schema(description = "Время события.", example = "2026-01-01T10:00:00Z")
+    private Instant occurredAt;
+}
@@ -0,0 +1,28 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBatchItemResponse {
+
+    @Schema(description = "Позиция запроса в пакете, начиная с 0.", example = "0")
+    private int index;
+    @Schema(description = "Ключ идемпотентности запроса.", example = "4bd32bf3-841f-441f-9bbd-83b99427c2d4")
+    private String idempotencyKey;
+    @Schema(description = "Результат обработки запроса.", example = "CREATED")
+    private NotificationBatchItemStatus status;
+    @Schema(description = "Созданные или ранее созданные уведомления по каналам.")
+    private List<NotificationResponse> notifications;
+    @Schema(description = "Описание ошибки, если статус CONFLICT.",
+            example = "Idempotency key was already used for a different request: 4bd32bf3")
+    private String error;
+}
@@ -0,0 +1,6 @@
+package com.example.notifications.dto;
+
+public enum NotificationBatchItemStatus {
+
+    CREATED, EXISTING, CONFLICT
+}
@@ -0,0 +1,27 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBatchRequest {
+
+    public static final int MAX_SIZE = 5000;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    @Schema(description = "Запросы на создание уведомлений, не более 5000 в одном пакете.")
+    private List<@NotNull @Valid NotificationRequest> notifications;
+}
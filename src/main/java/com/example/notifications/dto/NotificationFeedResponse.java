@@ -0,0 +1,22 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Value
+@Builder
+@Jacksonized
+public class NotificationFeedResponse {
+
+    @Schema(description = "Уведомления страницы, от новых к старым.")
+    List<NotificationResponse> items;
+    @Schema(description = "Курсор следующей страницы или null, если страниц больше нет.",
+            example = "MjAyNi0wMS0wMVQxMDowMDowMFp8NGJkMzJiZjMtODQxZi00NDFmLTliYmQtODNiOTk0MjdjMmQ0")
+    String nextCursor;
+    @Schema(description = "Есть ли следующая страница.", example = "true")
+    boolean hasNext;
+}
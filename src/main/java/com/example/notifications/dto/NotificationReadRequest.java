@@ -0,0 +1,27 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationReadRequest {
+
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    @Schema(description = "UUID уведомлений, которые нужно отметить как прочитанные. Не более 1000 за запрос.")
+    private List<@NotNull UUID> ids;
+}
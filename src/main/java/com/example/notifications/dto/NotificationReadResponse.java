@@ -0,0 +1,18 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationReadResponse {
+
+    @Schema(description = "Сколько уведомлений было отмечено как прочитанные. Уже прочитанные не учитываются.",
+            example = "12")
+    private int updated;
+}
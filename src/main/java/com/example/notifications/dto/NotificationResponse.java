@@ -5,50 +5,48 @@ import com.example.notifications.entity.enums.AudienceType;
 import com.example.notifications.entity.enums.NotificationPriority;
 import com.example.notifications.entity.enums.Status;
 import io.swagger.v3.oas.annotations.media.Schema;
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.Instant;
 import java.util.UUID;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
 @Builder
+@Jacksonized
 public class NotificationResponse {
 
     @Schema(description = "UUID уведомления.", example = "4bd32bf3-841f-441f-9bbd-83b99427c2d4")
-    private UUID id;
+    UUID id;
     @Schema(description = "Идентификатор получателя.", example = "grinya")
-    private String recipientId;
+    String recipientId;
     @Schema(description = "Тип аудитории.", example = "PERSONAL")
-    private AudienceType audienceType;
+    AudienceType audienceType;
     @Schema(description = "Цель аудитории.", example = "grinya")
-    private String audienceTarget;
+    String audienceTarget;
     @Schema(description = "Фактический адрес доставки для канала.", example = "notificationservicedemo@yandex.ru")
-    private String destination;
+    String destination;
     @Schema(description = "Канал доставки.", example = "EMAIL")
-    private Channel channel;
+    Channel channel;
     @Schema(description = "Текст уведомления.", example = "Тестовое уведомление")
-    private String payload;
+    String payload;
     @Schema(description = "Приоритет уведомления.", example = "NORMAL")
-    private NotificationPriority priority;
+    NotificationPriority priority;
     @Schema(description = "Статус доставки.", example = "SENT")
-    private Status deliveryStatus;
+    Status deliveryStatus;
     @Schema(description = "Дата создания уведомления.")
-    private Instant createdAt;
+    Instant createdAt;
     @Schema(description = "Дата успешной отправки.")
-    private Instant sentAt;
+    Instant sentAt;
     @Schema(description = "Дата истечения уведомления.")
-    private Instant expiresAt;
+    Instant expiresAt;
     @Schema(description = "Ключ идемпотентности.", example = "4bd32bf3-841f-441f-9bbd-83b99427c2d4")
-    private String idempotencyKey;
+    String idempotencyKey;
     @Schema(description = "Описание ошибки доставки, если статус FAILED.", example = "Connect timed out")
-    private String errorDescription;
+    String errorDescription;
     @Schema(description = "Флаг прочитанности.", example = "false")
-    private Boolean isRead;
+    Boolean isRead;
     @Schema(description = "Флаг архивирования.", example = "false")
-    private Boolean archived;
+    Boolean archived;
 }
@@ -0,0 +1,19 @@
+package com.example.notifications.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountResponse {
+
+    @Schema(description = "Идентификатор получателя.", example = "user@example.com")
+    private String recipientId;
+    @Schema(description = "Количество непрочитанных активных уведомлений получателя.", example = "3")
+    private long unreadCount;
+}
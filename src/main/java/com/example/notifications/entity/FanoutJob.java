@@ -0,0 +1,88 @@
+package com.example.notifications.entity;
+
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.FanoutStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "notification_fanout_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FanoutJob {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private UUID notificationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AudienceType audienceType;
+
+    private String audienceTarget;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private FanoutStatus status = FanoutStatus.PENDING;
+
+    private String lastRecipientId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long emittedCount = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long settledCount = 0L;
+
+    private String leaseOwner;
+
+    private Instant leaseUntil;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant completedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+        if (status == null) {
+            status = FanoutStatus.PENDING;
+        }
+        if (emittedCount == null) {
+            emittedCount = 0L;
+        }
+        if (settledCount == null) {
+            settledCount = 0L;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.notifications.entity;
 
+import com.example.notifications.entity.converter.NotificationPriorityRankConverter;
+import com.example.notifications.entity.enums.NotificationPriority;
 import com.example.notifications.entity.enums.OutboxStatus;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -48,6 +51,11 @@ public class OutboxMessage {
     @Column(nullable = false)
     private String payload;
 
+    @Builder.Default
+    @Convert(converter = NotificationPriorityRankConverter.class)
+    @Column(nullable = false)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
     @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -66,6 +74,8 @@ public class OutboxMessage {
 
     private String lastError;
 
+    private Instant expiresAt;
+
     @PrePersist
     void onCreate() {
         if (createdAt == null) {
@@ -77,5 +87,8 @@ public class OutboxMessage {
         if (attempts == null) {
             attempts = 0;
         }
+        if (priority == null) {
+            priority = NotificationPriority.NORMAL;
+        }
     }
 }
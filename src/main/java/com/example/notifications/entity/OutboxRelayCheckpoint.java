@@ -0,0 +1,32 @@
+package com.example.notifications.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_relay_checkpoint")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxRelayCheckpoint {
+
+    @Id
+    private String slotName;
+
+    @Column(nullable = false)
+    private Long lsn;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
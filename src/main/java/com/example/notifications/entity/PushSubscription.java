@@ -48,6 +48,12 @@ public class PushSubscription {
     @Column(nullable = false)
     private Instant lastSeenAt;
 
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer failureCount = 0;
+
+    private Instant suppressedUntil;
+
     @PrePersist
     void onCreate() {
         Instant now = Instant.now();
@@ -63,5 +69,8 @@ public class PushSubscription {
         if (active == null) {
             active = true;
         }
+        if (failureCount == null) {
+            failureCount = 0;
+        }
     }
 }
@@ -0,0 +1,19 @@
+package com.example.notifications.entity.converter;
+
+import com.example.notifications.entity.enums.NotificationPriority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class NotificationPriorityRankConverter implements AttributeConverter<NotificationPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(NotificationPriority priority) {
+        return priority == null ? null : priority.getRank();
+    }
+
+    @Override
+    public NotificationPriority convertToEntityAttribute(Short rank) {
+        return rank == null ? null : NotificationPriority.fromRank(rank);
+    }
+}
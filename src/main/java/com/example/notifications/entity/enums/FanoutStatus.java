@@ -0,0 +1,6 @@
+package com.example.notifications.entity.enums;
+
+public enum FanoutStatus {
+
+    PENDING, RUNNING, COMPLETED, EXPIRED
+}
@@ -1,6 +1,25 @@
 package com.example.notifications.entity.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
 public enum NotificationPriority {
 
-    LOW, NORMAL, HIGH, URGENT
+    LOW((short) 0),
+    NORMAL((short) 1),
+    HIGH((short) 2),
+    URGENT((short) 3);
+
+    private final short rank;
+
+    public static NotificationPriority fromRank(short rank) {
+        return Arrays.stream(values())
+                .filter(priority -> priority.rank == rank)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown notification priority rank: " + rank));
+    }
 }
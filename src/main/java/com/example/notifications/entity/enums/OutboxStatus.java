@@ -2,5 +2,5 @@ package com.example.notifications.entity.enums;
 
 public enum OutboxStatus {
 
-    PENDING, PROCESSING, PUBLISHED, FAILED
+    PENDING, PROCESSING, PUBLISHED, FAILED, EXPIRED
 }
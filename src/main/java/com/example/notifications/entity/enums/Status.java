@@ -2,5 +2,5 @@ package com.example.notifications.entity.enums;
 
 public enum Status {
 
-    PENDING, SENT, FAILED
+    PENDING, SENT, FAILED, EXPIRED
 }
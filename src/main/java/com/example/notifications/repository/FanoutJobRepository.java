@@ -0,0 +1,120 @@
+package com.example.notifications.repository;
+
+import com.example.notifications.entity.FanoutJob;
+import com.example.notifications.entity.enums.FanoutStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FanoutJobRepository extends JpaRepository<FanoutJob, UUID> {
+
+    @Query(value = """
+            SELECT *
+            FROM notification_fanout_jobs
+            WHERE status IN ('PENDING', 'RUNNING')
+              AND (lease_until IS NULL OR lease_until < :now)
+            ORDER BY created_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<FanoutJob> findClaimableForUpdate(@Param("now") Instant now);
+
+    @Query(value = """
+            SELECT DISTINCT recipient_id
+            FROM push_subscriptions
+            WHERE active = TRUE
+              AND recipient_id > :after
+            ORDER BY recipient_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findBroadcastRecipientsAfter(@Param("after") String after, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT DISTINCT m.recipient_id
+            FROM segment_members m
+            JOIN push_subscriptions s ON s.recipient_id = m.recipient_id AND s.active = TRUE
+            WHERE m.segment_id = :segmentId
+              AND m.recipient_id > :after
+            ORDER BY m.recipient_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findSegmentRecipientsAfter(
+            @Param("segmentId") String segmentId,
+            @Param("after") String after,
+            @Param("limit") int limit
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update FanoutJob j
+            set j.lastRecipientId = :lastRecipientId,
+                j.emittedCount = j.emittedCount + :emitted,
+                j.leaseUntil = :leaseUntil,
+                j.version = j.version + 1
+            where j.id = :id
+              and j.leaseOwner = :owner
+            """)
+    int saveCheckpoint(
+            @Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("lastRecipientId") String lastRecipientId,
+            @Param("emitted") long emitted,
+            @Param("leaseUntil") Instant leaseUntil
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update FanoutJob j
+            set j.status = :status,
+                j.completedAt = :completedAt,
+                j.leaseOwner = null,
+                j.leaseUntil = null,
+                j.version = j.version + 1
+            where j.id = :id
+              and j.leaseOwner = :owner
+            """)
+    int finish(
+            @Param("id") UUID id,
+            @Param("owner") String owner,
+            @Param("status") FanoutStatus status,
+            @Param("completedAt") Instant completedAt
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            WITH inserted AS (
+                INSERT INTO notification_fanout_settlements (notification_id, recipient_id)
+                SELECT :notificationId, recipient_id
+                FROM unnest(CAST(ARRAY[:recipientIds] AS VARCHAR[])) AS recipient_id
+                WHERE EXISTS (
+                    SELECT 1
+                    FROM notifications
+                    WHERE id = :notificationId
+                      AND status = 'PENDING'
+                )
+                ON CONFLICT DO NOTHING
+                RETURNING 1
+            )
+            UPDATE notification_fanout_jobs
+            SET settled_count = settled_count + (SELECT count(*) FROM inserted),
+                version = version + 1
+            WHERE notification_id = :notificationId
+            """, nativeQuery = true)
+    int addSettled(@Param("notificationId") UUID notificationId, @Param("recipientIds") Collection<String> recipientIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM notification_fanout_settlements
+            WHERE notification_id IN (:notificationIds)
+            """, nativeQuery = true)
+    int deleteSettledRecipients(@Param("notificationIds") Collection<UUID> notificationIds);
+}
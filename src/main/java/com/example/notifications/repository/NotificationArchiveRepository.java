@@ -0,0 +1,13 @@
+package com.example.notifications.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationArchiveRepository {
+
+    Optional<ArchiveChunk> archiveChunk(Instant threshold, Instant afterCreatedAt, UUID afterId, int limit);
+
+    record ArchiveChunk(int archived, Instant lastCreatedAt, UUID lastId) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.notifications.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class NotificationArchiveRepositoryImpl implements NotificationArchiveRepository {
+
+    private static final String ARCHIVE_CHUNK = """
+            WITH chunk AS (
+                SELECT id
+                FROM notifications
+                WHERE archived = FALSE
+                  AND created_at < ?
+                  AND created_at >= ?
+                  AND (created_at, id) > (?, ?)
+                ORDER BY created_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), archived AS (
+                UPDATE notifications n
+                SET archived = TRUE,
+                    version = n.version + 1
+                FROM chunk
+                WHERE n.id = chunk.id
+                RETURNING n.id, n.recipient_id, n.is_read, n.created_at
+            ), archived_unread AS (
+                SELECT recipient_id, count(*) AS unread_count
+                FROM archived
+                WHERE recipient_id IS NOT NULL
+                  AND is_read = FALSE
+                GROUP BY recipient_id
+            ), counters AS (
+                UPDATE notification_unread_counters c
+                SET unread_count = GREATEST(c.unread_count - archived_unread.unread_count, 0),
+                    updated_at = now()
+                FROM archived_unread
+                WHERE c.recipient_id = archived_unread.recipient_id
+            )
+            SELECT count(*) OVER () AS archived, id, created_at
+            FROM archived
+            ORDER BY created_at DESC, id DESC
+            LIMIT 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ArchiveChunk> archiveChunk(Instant threshold, Instant afterCreatedAt, UUID afterId, int limit) {
+        OffsetDateTime after = timestamp(afterCreatedAt);
+        return jdbcTemplate.query(ARCHIVE_CHUNK,
+                rs -> rs.next()
+                        ? Optional.of(new ArchiveChunk(
+                        rs.getInt("archived"),
+                        rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                        rs.getObject("id", UUID.class)))
+                        : Optional.empty(),
+                timestamp(threshold), after, after, afterId, limit);
+    }
+
+    private OffsetDateTime timestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
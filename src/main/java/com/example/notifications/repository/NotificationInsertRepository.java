@@ -0,0 +1,12 @@
+package com.example.notifications.repository;
+
+import com.example.notifications.entity.FanoutJob;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.OutboxMessage;
+
+import java.util.List;
+
+public interface NotificationInsertRepository {
+
+    int insertIfAbsent(List<Notification> notifications, List<OutboxMessage> outboxMessages, List<FanoutJob> fanoutJobs);
+}
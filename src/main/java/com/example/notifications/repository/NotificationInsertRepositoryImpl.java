@@ -0,0 +1,127 @@
+package com.example.notifications.repository;
+
+import com.example.notifications.entity.FanoutJob;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class NotificationInsertRepositoryImpl implements NotificationInsertRepository {
+
+    private static final String NOTIFICATION_ROW = """
+            (CAST(? AS uuid), 0, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS timestamptz), CAST(? AS timestamptz), ?, ?, ?)""";
+    private static final String OUTBOX_ROW = """
+            (CAST(? AS uuid), CAST(? AS varchar), CAST(? AS varchar), CAST(? AS text), CAST(? AS smallint), \
+            CAST(? AS varchar), CAST(? AS timestamptz))""";
+    private static final String FANOUT_ROW = """
+            (CAST(? AS uuid), CAST(? AS varchar), CAST(? AS varchar), CAST(? AS varchar))""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertIfAbsent(
+            List<Notification> notifications,
+            List<OutboxMessage> outboxMessages,
+            List<FanoutJob> fanoutJobs
+    ) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("""
+                WITH inserted AS (
+                    INSERT INTO notifications (id, version, recipient_id, audience_type, audience_target, destination,
+                                               channel, payload, priority, status, created_at, expires_at,
+                                               idempotency_key, is_read, archived)
+                    VALUES\s""");
+        sql.append(rows(NOTIFICATION_ROW, notifications.size()));
+        sql.append("""
+
+                    ON CONFLICT (idempotency_key, channel) DO NOTHING
+                    RETURNING id
+                )""");
+        for (Notification notification : notifications) {
+            Collections.addAll(args,
+                    notification.getId(),
+                    notification.getRecipientId(),
+                    notification.getAudienceType().name(),
+                    notification.getAudienceTarget(),
+                    notification.getDestination(),
+                    notification.getChannel().name(),
+                    notification.getPayload(),
+                    notification.getPriority().name(),
+                    notification.getStatus().name(),
+                    timestamp(notification.getCreatedAt()),
+                    timestamp(notification.getExpiresAt()),
+                    notification.getIdempotencyKey(),
+                    notification.getIsRead(),
+                    notification.getArchived());
+        }
+
+        if (!outboxMessages.isEmpty()) {
+            sql.append("""
+                    ,
+                    outbox AS (
+                        INSERT INTO notification_outbox (notification_id, topic, message_key, payload, priority, status,
+                                                         expires_at)
+                        SELECT o.notification_id, o.topic, o.message_key, o.payload, o.priority, o.status, o.expires_at
+                        FROM (VALUES\s""");
+            sql.append(rows(OUTBOX_ROW, outboxMessages.size()));
+            sql.append("""
+                    ) AS o (notification_id, topic, message_key, payload, priority, status, expires_at)
+                        JOIN inserted i ON i.id = o.notification_id
+                    )""");
+            for (OutboxMessage message : outboxMessages) {
+                Collections.addAll(args,
+                        message.getNotificationId(),
+                        message.getTopic(),
+                        message.getMessageKey(),
+                        message.getPayload(),
+                        message.getPriority().getRank(),
+                        message.getStatus().name(),
+                        timestamp(message.getExpiresAt()));
+            }
+        }
+
+        if (!fanoutJobs.isEmpty()) {
+            sql.append("""
+                    ,
+                    fanout AS (
+                        INSERT INTO notification_fanout_jobs (notification_id, audience_type, audience_target, status)
+                        SELECT f.notification_id, f.audience_type, f.audience_target, f.status
+                        FROM (VALUES\s""");
+            sql.append(rows(FANOUT_ROW, fanoutJobs.size()));
+            sql.append("""
+                    ) AS f (notification_id, audience_type, audience_target, status)
+                        JOIN inserted i ON i.id = f.notification_id
+                    )""");
+            for (FanoutJob job : fanoutJobs) {
+                Collections.addAll(args,
+                        job.getNotificationId(),
+                        job.getAudienceType().name(),
+                        job.getAudienceTarget(),
+                        job.getStatus().name());
+            }
+        }
+
+        sql.append("\nSELECT count(*) FROM inserted");
+        Integer inserted = jdbcTemplate.queryForObject(sql.toString(), Integer.class, args.toArray());
+        return inserted == null ? 0 : inserted;
+    }
+
+    private String rows(String row, int count) {
+        return String.join(",\n        ", Collections.nCopies(count, row));
+    }
+
+    private OffsetDateTime timestamp(Instant instant) {
+        return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.notifications.repository;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,11 +13,13 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+public interface NotificationRepository extends JpaRepository<Notification, UUID>, NotificationInsertRepository,
+        NotificationArchiveRepository {
 
     Page<Notification> findByRecipientIdAndArchivedFalseAndChannelInAndStatusIn(
             String recipientId,
@@ -27,13 +30,147 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     List<Notification> findByIdempotencyKey(String idempotencyKey);
 
+    @Query("""
+            select n
+            from Notification n
+            where n.recipientId = :recipientId
+              and n.archived = false
+              and (:anyChannel = true or n.channel in :channels)
+              and (:anyStatus = true or n.status in :statuses)
+            order by n.createdAt desc, n.id desc
+            """)
+    List<Notification> findFeedFirstPage(
+            @Param("recipientId") String recipientId,
+            @Param("anyChannel") boolean anyChannel,
+            @Param("channels") Collection<Channel> channels,
+            @Param("anyStatus") boolean anyStatus,
+            @Param("statuses") Collection<Status> statuses,
+            Limit limit
+    );
+
+    @Query("""
+            select n
+            from Notification n
+            where n.recipientId = :recipientId
+              and n.archived = false
+              and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))
+              and (:anyChannel = true or n.channel in :channels)
+              and (:anyStatus = true or n.status in :statuses)
+            order by n.createdAt desc, n.id desc
+            """)
+    List<Notification> findFeedAfter(
+            @Param("recipientId") String recipientId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") UUID id,
+            @Param("anyChannel") boolean anyChannel,
+            @Param("channels") Collection<Channel> channels,
+            @Param("anyStatus") boolean anyStatus,
+            @Param("statuses") Collection<Status> statuses,
+            Limit limit
+    );
+
+    List<Notification> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications
+                SET is_read = TRUE,
+                    version = version + 1
+                WHERE id IN (:ids)
+                  AND is_read = FALSE
+                RETURNING id, recipient_id, archived
+            ), read_counts AS (
+                SELECT recipient_id, count(*) AS read_count
+                FROM updated
+                WHERE recipient_id IS NOT NULL
+                  AND archived = FALSE
+                GROUP BY recipient_id
+            ), counters AS (
+                UPDATE notification_unread_counters c
+                SET unread_count = GREATEST(c.unread_count - read_counts.read_count, 0),
+                    updated_at = now()
+                FROM read_counts
+                WHERE c.recipient_id = read_counts.recipient_id
+            )
+            SELECT id, recipient_id AS "recipientId" FROM updated
+            """, nativeQuery = true)
+    List<ReadMark> markReadByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications
+                SET is_read = TRUE,
+                    version = version + 1
+                WHERE recipient_id = :recipientId
+                  AND archived = FALSE
+                  AND is_read = FALSE
+                  AND created_at <= :before
+                RETURNING id, recipient_id, archived
+            ), read_counts AS (
+                SELECT recipient_id, count(*) AS read_count
+                FROM updated
+                WHERE recipient_id IS NOT NULL
+                  AND archived = FALSE
+                GROUP BY recipient_id
+            ), counters AS (
+                UPDATE notification_unread_counters c
+                SET unread_count = GREATEST(c.unread_count - read_counts.read_count, 0),
+                    updated_at = now()
+                FROM read_counts
+                WHERE c.recipient_id = read_counts.recipient_id
+            )
+            SELECT id, recipient_id AS "recipientId" FROM updated
+            """, nativeQuery = true)
+    List<ReadMark> markAllReadBefore(@Param("recipientId") String recipientId, @Param("before") Instant before);
+
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications
+                SET status = 'SENT',
+                    sent_at = :sentAt,
+                    error_description = NULL,
+                    version = version + 1
+                WHERE id IN (:ids)
+                  AND status <> 'EXPIRED'
+                RETURNING id
+            )
+            SELECT id FROM updated
+            """, nativeQuery = true)
+    List<UUID> markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") Instant sentAt);
+
+    @Query(value = """
+            WITH updated AS (
+                UPDATE notifications n
+                SET status = 'SENT',
+                    sent_at = :sentAt,
+                    error_description = NULL,
+                    version = n.version + 1
+                FROM notification_fanout_jobs j
+                WHERE j.notification_id = n.id
+                  AND n.id IN (:ids)
+                  AND n.status = 'PENDING'
+                  AND j.status = 'COMPLETED'
+                  AND j.settled_count >= j.emitted_count
+                RETURNING n.id
+            )
+            SELECT id FROM updated
+            """, nativeQuery = true)
+    List<UUID> markFanoutSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") Instant sentAt);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
             update Notification n
-            set n.archived = true,
+            set n.status = com.example.notifications.entity.enums.Status.EXPIRED,
                 n.version = n.version + 1
-            where n.archived = false
-              and n.createdAt < :timestamp
+            where n.id in :ids
+              and n.status <> com.example.notifications.entity.enums.Status.SENT
             """)
-    int archiveCreatedBefore(@Param("timestamp") Instant timestamp);
+    int markExpired(@Param("ids") Collection<UUID> ids);
+
+    interface ReadMark {
+
+        UUID getId();
+
+        String getRecipientId();
+    }
 }
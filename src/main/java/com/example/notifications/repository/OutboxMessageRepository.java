@@ -1,6 +1,7 @@
 package com.example.notifications.repository;
 
 import com.example.notifications.entity.OutboxMessage;
+import com.example.notifications.entity.enums.OutboxStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,17 +9,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
 
+    String PENDING_CHANNEL = "notification_outbox";
+
     @Query(value = """
             SELECT *
             FROM notification_outbox
             WHERE status = 'PENDING'
-            ORDER BY created_at
+              AND (expires_at IS NULL OR expires_at > now())
+            ORDER BY priority DESC, created_at
             LIMIT :limit
             FOR UPDATE SKIP LOCKED
             """, nativeQuery = true)
@@ -33,4 +38,127 @@ public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UU
               and m.lastAttemptAt < :threshold
             """)
     int resetStaleProcessing(@Param("threshold") Instant threshold);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update OutboxMessage m
+            set m.status = com.example.notifications.entity.enums.OutboxStatus.PUBLISHED,
+                m.publishedAt = :publishedAt,
+                m.lastAttemptAt = :publishedAt,
+                m.version = m.version + 1
+            where m.id in :ids
+              and m.status = com.example.notifications.entity.enums.OutboxStatus.PENDING
+            """)
+    int markRelayed(@Param("ids") Collection<UUID> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update OutboxMessage m
+            set m.status = com.example.notifications.entity.enums.OutboxStatus.FAILED,
+                m.attempts = m.attempts + :attempts,
+                m.lastAttemptAt = :attemptedAt,
+                m.lastError = :error,
+                m.version = m.version + 1
+            where m.id in :ids
+              and m.status = com.example.notifications.entity.enums.OutboxStatus.PENDING
+            """)
+    int markRelayFailed(
+            @Param("ids") Collection<UUID> ids,
+            @Param("attempts") int attempts,
+            @Param("attemptedAt") Instant attemptedAt,
+            @Param("error") String error
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update OutboxMessage m
+            set m.status = com.example.notifications.entity.enums.OutboxStatus.PUBLISHED,
+                m.publishedAt = :publishedAt,
+                m.lastAttemptAt = :publishedAt,
+                m.lastError = null,
+                m.version = m.version + 1
+            where m.id in :ids
+              and m.status = com.example.notifications.entity.enums.OutboxStatus.PROCESSING
+              and m.version = :claimedVersion
+            """)
+    int markPublished(
+            @Param("ids") Collection<UUID> ids,
+            @Param("claimedVersion") long claimedVersion,
+            @Param("publishedAt") Instant publishedAt
+    );
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update OutboxMessage m
+            set m.status = :status,
+                m.attempts = m.attempts + 1,
+                m.lastAttemptAt = :attemptedAt,
+                m.lastError = :error,
+                m.version = m.version + 1
+            where m.id in :ids
+              and m.status = com.example.notifications.entity.enums.OutboxStatus.PROCESSING
+              and m.version = :claimedVersion
+            """)
+    int markPublishFailed(
+            @Param("ids") Collection<UUID> ids,
+            @Param("claimedVersion") long claimedVersion,
+            @Param("status") OutboxStatus status,
+            @Param("attemptedAt") Instant attemptedAt,
+            @Param("error") String error
+    );
+
+    @Query(value = """
+            WITH expired AS (
+                UPDATE notification_outbox
+                SET status = 'EXPIRED',
+                    last_attempt_at = :now,
+                    version = version + 1
+                WHERE status = 'PENDING'
+                  AND expires_at <= :now
+                RETURNING notification_id
+            ), expired_notifications AS (
+                UPDATE notifications n
+                SET status = 'EXPIRED',
+                    version = n.version + 1
+                FROM expired
+                WHERE n.id = expired.notification_id
+                  AND n.status = 'PENDING'
+                RETURNING n.id, n.recipient_id
+            )
+            SELECT expired.notification_id AS "notificationId",
+                   expired_notifications.recipient_id AS "recipientId"
+            FROM expired
+            LEFT JOIN expired_notifications ON expired_notifications.id = expired.notification_id
+            """, nativeQuery = true)
+    List<ExpiredMessage> expirePending(@Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            WITH purged AS (
+                SELECT id
+                FROM notification_outbox
+                WHERE status = 'PUBLISHED'
+                  AND published_at < :threshold
+                ORDER BY published_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            DELETE FROM notification_outbox o
+            USING purged
+            WHERE o.id = purged.id
+            """, nativeQuery = true)
+    int purgePublishedBefore(@Param("threshold") Instant threshold, @Param("limit") int limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Modifying
+    @Query(value = "NOTIFY " + PENDING_CHANNEL, nativeQuery = true)
+    void notifyPending();
+
+    interface ExpiredMessage {
+
+        UUID getNotificationId();
+
+        String getRecipientId();
+    }
 }
@@ -0,0 +1,28 @@
+package com.example.notifications.repository;
+
+import com.example.notifications.entity.OutboxRelayCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxRelayCheckpointRepository extends JpaRepository<OutboxRelayCheckpoint, String> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO outbox_relay_checkpoint (slot_name, lsn, updated_at)
+            VALUES (:slotName, :lsn, now())
+            ON CONFLICT (slot_name) DO UPDATE
+            SET lsn = GREATEST(outbox_relay_checkpoint.lsn, EXCLUDED.lsn),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void saveCheckpoint(@Param("slotName") String slotName, @Param("lsn") long lsn);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_replication_slots WHERE slot_name = :slotName)", nativeQuery = true)
+    boolean replicationSlotExists(@Param("slotName") String slotName);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_publication WHERE pubname = :publicationName)", nativeQuery = true)
+    boolean publicationExists(@Param("publicationName") String publicationName);
+}
@@ -2,7 +2,12 @@ package com.example.notifications.repository;
 
 import com.example.notifications.entity.PushSubscription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +17,60 @@ public interface PushSubscriptionRepository extends JpaRepository<PushSubscripti
     Optional<PushSubscription> findByFcmToken(String fcmToken);
 
     List<PushSubscription> findByRecipientIdAndActiveTrue(String recipientId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update PushSubscription s
+            set s.active = false
+            where s.fcmToken in :tokens
+              and s.active = true
+            """)
+    int deactivateByFcmTokens(@Param("tokens") Collection<String> tokens);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update PushSubscription s
+            set s.failureCount = s.failureCount + 1,
+                s.suppressedUntil = case
+                    when s.failureCount + 1 >= :threshold then :suppressUntil
+                    else s.suppressedUntil
+                end
+            where s.fcmToken in :tokens
+              and s.active = true
+            """)
+    int recordFailures(
+            @Param("tokens") Collection<String> tokens,
+            @Param("threshold") int threshold,
+            @Param("suppressUntil") Instant suppressUntil);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update PushSubscription s
+            set s.failureCount = 0,
+                s.suppressedUntil = null
+            where s.fcmToken in :tokens
+              and s.failureCount > 0
+            """)
+    int resetFailures(@Param("tokens") Collection<String> tokens);
+
+    @Query(value = """
+            WITH stale AS (
+                SELECT id
+                FROM push_subscriptions
+                WHERE active = TRUE
+                  AND last_seen_at < :threshold
+                ORDER BY last_seen_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            deactivated AS (
+                UPDATE push_subscriptions s
+                SET active = FALSE
+                FROM stale
+                WHERE s.id = stale.id
+                RETURNING s.recipient_id
+            )
+            SELECT recipient_id FROM deactivated
+            """, nativeQuery = true)
+    List<String> deactivateStale(@Param("threshold") Instant threshold, @Param("limit") int limit);
 }
@@ -0,0 +1,56 @@
+package com.example.notifications.repository;
+
+import com.example.notifications.entity.UnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UnreadCounterRepository extends JpaRepository<UnreadCounter, String> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO notification_unread_counters (recipient_id, unread_count, updated_at)
+            VALUES (:recipientId, GREATEST(:delta, 0), now())
+            ON CONFLICT (recipient_id) DO UPDATE
+            SET unread_count = GREATEST(notification_unread_counters.unread_count + :delta, 0),
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void add(@Param("recipientId") String recipientId, @Param("delta") long delta);
+
+    @Query(value = """
+            SELECT recipient_id
+            FROM notification_unread_counters
+            WHERE recipient_id > :afterRecipientId
+            ORDER BY recipient_id
+            LIMIT :limit
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<String> lockRecipientsAfter(@Param("afterRecipientId") String afterRecipientId, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+            WITH actual AS (
+                SELECT c.recipient_id,
+                       (SELECT count(*)
+                        FROM notifications n
+                        WHERE n.recipient_id = c.recipient_id
+                          AND n.archived = FALSE
+                          AND n.is_read = FALSE) AS unread_count
+                FROM notification_unread_counters c
+                WHERE c.recipient_id IN (:recipientIds)
+            )
+            UPDATE notification_unread_counters c
+            SET unread_count = actual.unread_count,
+                updated_at = now()
+            FROM actual
+            WHERE c.recipient_id = actual.recipient_id
+              AND c.unread_count <> actual.unread_count
+            """, nativeQuery = true)
+    int reconcile(@Param("recipientIds") Collection<String> recipientIds);
+}
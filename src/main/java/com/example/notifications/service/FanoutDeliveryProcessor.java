@@ -0,0 +1,162 @@
+package com.example.notifications.service;
+
+import com.example.notifications.config.KafkaConsumerProperties;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.delivery.PushSender;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class FanoutDeliveryProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(FanoutDeliveryProcessor.class);
+    private static final long DELIVERED_RECORDS_MAX_SIZE = 100_000;
+    private static final Duration DELIVERED_RECORDS_TTL = Duration.ofHours(1);
+
+    private final NotificationRepository repository;
+    private final PushSender pushSender;
+    private final NotificationFanoutService fanoutService;
+    private final KafkaConsumerProperties consumerProperties;
+
+    private final Cache<String, Boolean> deliveredRecords = Caffeine.newBuilder()
+            .maximumSize(DELIVERED_RECORDS_MAX_SIZE)
+            .expireAfterWrite(DELIVERED_RECORDS_TTL)
+            .build();
+
+    public void processBatch(List<ConsumerRecord<String, String>> records) {
+        Map<UUID, Notification> notifications = loadNotifications(records);
+        if (pushSender.isCoalescing()) {
+            processCoalesced(records, notifications);
+            return;
+        }
+        for (int index = 0; index < records.size(); index++) {
+            ConsumerRecord<String, String> record = records.get(index);
+            try {
+                Notification notification = deliverable(record, notifications);
+                if (notification != null) {
+                    pushSender.send(notification, record.key());
+                }
+            } catch (RuntimeException e) {
+                settle(records.subList(0, index));
+                throw new BatchListenerFailedException(e.getMessage(), e, index);
+            }
+        }
+        settle(records);
+    }
+
+    private void processCoalesced(List<ConsumerRecord<String, String>> records, Map<UUID, Notification> notifications) {
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(records.size());
+        RuntimeException failure = null;
+        for (ConsumerRecord<String, String> record : records) {
+            if (deliveredRecords.getIfPresent(recordKey(record)) != null) {
+                deliveries.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            try {
+                Notification notification = deliverable(record, notifications);
+                deliveries.add(notification == null
+                        ? CompletableFuture.completedFuture(null)
+                        : pushSender.sendAsync(notification, record.key()));
+            } catch (RuntimeException e) {
+                failure = e;
+                break;
+            }
+        }
+
+        int failedIndex = failure == null ? -1 : deliveries.size();
+        for (int index = 0; index < deliveries.size(); index++) {
+            try {
+                deliveries.get(index).orTimeout(consumerProperties.getDeliveryTimeoutMs(), TimeUnit.MILLISECONDS).join();
+                deliveredRecords.put(recordKey(records.get(index)), Boolean.TRUE);
+            } catch (CompletionException e) {
+                if (failedIndex < 0 || index < failedIndex) {
+                    failedIndex = index;
+                    failure = e.getCause() instanceof RuntimeException runtime ? runtime : e;
+                }
+            }
+        }
+        if (failedIndex >= 0) {
+            settle(records.subList(0, failedIndex));
+            throw new BatchListenerFailedException(failure.getMessage(), failure, failedIndex);
+        }
+        settle(records);
+        deliveredRecords.invalidateAll(records.stream().map(this::recordKey).toList());
+    }
+
+    private void settle(List<ConsumerRecord<String, String>> records) {
+        Map<UUID, Set<String>> settled = new HashMap<>();
+        for (ConsumerRecord<String, String> record : records) {
+            try {
+                settled.computeIfAbsent(UUID.fromString(record.value()), id -> new HashSet<>()).add(record.key());
+            } catch (IllegalArgumentException e) {
+                log.debug("Fan-out message value is not notification UUID: {}", record.value());
+            }
+        }
+        fanoutService.recordSettled(settled);
+    }
+
+    private String recordKey(ConsumerRecord<String, String> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    private Notification deliverable(ConsumerRecord<String, String> record, Map<UUID, Notification> notifications) {
+        UUID notificationId = parseNotificationId(record.value());
+        Notification notification = notifications.get(notificationId);
+        if (notification == null) {
+            throw new IllegalArgumentException("Notification not found: " + notificationId);
+        }
+        if (notification.getExpiresAt() != null && !notification.getExpiresAt().isAfter(Instant.now())) {
+            log.debug("Dropping expired fan-out delivery {} for {}", notificationId, record.key());
+            return null;
+        }
+        return notification;
+    }
+
+    private Map<UUID, Notification> loadNotifications(List<ConsumerRecord<String, String>> records) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        records.forEach(record -> {
+            try {
+                ids.add(UUID.fromString(record.value()));
+            } catch (RuntimeException e) {
+                log.debug("Fan-out message value is not notification UUID: {}", record.value());
+            }
+        });
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+    }
+
+    private UUID parseNotificationId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Fan-out message value must be notification UUID: " + value, e);
+        }
+    }
+}
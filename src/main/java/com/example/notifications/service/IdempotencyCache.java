@@ -0,0 +1,146 @@
+package com.example.notifications.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyCache {
+
+    static final String LOOKUP_METRIC = "notifications.idempotency.cache";
+    static final String HIT_RATIO_METRIC = "notifications.idempotency.cache.hit.ratio";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyCache.class);
+    private static final String REDIS_KEY_PREFIX = "notification:idempotency:";
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.idempotency.local-max-size:100000}")
+    private long localMaxSize;
+    @Value("${notification.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+    @Value("${notification.idempotency.redis-enabled:false}")
+    private boolean redisEnabled;
+
+    private Cache<String, Entry> localCache;
+    private Counter localHits;
+    private Counter redisHits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        localHits = meterRegistry.counter(LOOKUP_METRIC, "result", "local");
+        redisHits = meterRegistry.counter(LOOKUP_METRIC, "result", "redis");
+        misses = meterRegistry.counter(LOOKUP_METRIC, "result", "miss");
+        Gauge.builder(HIT_RATIO_METRIC, this, IdempotencyCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public Optional<Entry> find(String idempotencyKey) {
+        Entry entry = localCache.getIfPresent(idempotencyKey);
+        if (entry != null) {
+            localHits.increment();
+            return Optional.of(entry);
+        }
+        entry = findInRedis(idempotencyKey);
+        if (entry != null) {
+            redisHits.increment();
+            localCache.put(idempotencyKey, entry);
+            return Optional.of(entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String idempotencyKey, String fingerprint, List<UUID> notificationIds) {
+        Entry entry = new Entry(fingerprint, List.copyOf(notificationIds));
+        localCache.put(idempotencyKey, entry);
+        StringRedisTemplate template = redisTemplate();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.opsForValue().set(REDIS_KEY_PREFIX + idempotencyKey, encode(entry), Duration.ofSeconds(ttlSeconds));
+        } catch (RuntimeException e) {
+            log.warn("Failed to store idempotency key {} in Redis: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    public void invalidate(String idempotencyKey) {
+        localCache.invalidate(idempotencyKey);
+        StringRedisTemplate template = redisTemplate();
+        if (template == null) {
+            return;
+        }
+        try {
+            template.delete(REDIS_KEY_PREFIX + idempotencyKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove idempotency key {} from Redis: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private Entry findInRedis(String idempotencyKey) {
+        StringRedisTemplate template = redisTemplate();
+        if (template == null) {
+            return null;
+        }
+        try {
+            String value = template.opsForValue().get(REDIS_KEY_PREFIX + idempotencyKey);
+            return value == null ? null : decode(value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read idempotency key {} from Redis: {}", idempotencyKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private StringRedisTemplate redisTemplate() {
+        return redisEnabled ? redisTemplate.getIfAvailable() : null;
+    }
+
+    private double hitRatio() {
+        double hits = localHits.count() + redisHits.count();
+        double lookups = hits + misses.count();
+        return lookups == 0 ? 0 : hits / lookups;
+    }
+
+    private String encode(Entry entry) {
+        return entry.fingerprint() + ":" + entry.notificationIds().stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    private Entry decode(String value) {
+        int separator = value.indexOf(':');
+        List<UUID> ids = Arrays.stream(value.substring(separator + 1).split(","))
+                .filter(id -> !id.isEmpty())
+                .map(UUID::fromString)
+                .toList();
+        return new Entry(value.substring(0, separator), ids);
+    }
+
+    public record Entry(String fingerprint, List<UUID> notificationIds) {
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.notifications.service;
+
+import com.example.notifications.dto.InboxEvent;
+import com.example.notifications.dto.InboxEventType;
+import com.example.notifications.entity.Notification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class InboxStreamService implements MessageListener {
+
+    public static final String EVENTS_CHANNEL = "notification-inbox-events";
+
+    static final String CONNECTIONS_METRIC = "notifications.inbox.connections";
+
+    private static final Logger log = LoggerFactory.getLogger(InboxStreamService.class);
+    private static final TypeReference<List<InboxEvent>> EVENTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.inbox-stream.redis-enabled:false}")
+    private boolean redisEnabled;
+    @Value("${notification.inbox-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<String, Set<SseEmitter>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder(CONNECTIONS_METRIC, connectionCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String recipientId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        connections.compute(recipientId, (key, emitters) -> {
+            Set<SseEmitter> target = emitters == null ? ConcurrentHashMap.newKeySet() : emitters;
+            target.add(emitter);
+            return target;
+        });
+        connectionCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(recipientId, emitter));
+        emitter.onTimeout(() -> remove(recipientId, emitter));
+        emitter.onError(error -> remove(recipientId, emitter));
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            remove(recipientId, emitter);
+        }
+        return emitter;
+    }
+
+    public void publish(InboxEventType type, Collection<Notification> notifications) {
+        Instant now = Instant.now();
+        List<InboxEvent> events = notifications.stream()
+                .filter(notification -> notification.getRecipientId() != null)
+                .map(notification -> InboxEvent.builder()
+                        .type(type)
+                        .notificationId(notification.getId())
+                        .recipientId(notification.getRecipientId())
+                        .channel(notification.getChannel())
+                        .occurredAt(now)
+                        .build())
+                .toList();
+        if (events.isEmpty()) {
+            return;
+        }
+
+        StringRedisTemplate template = redisEnabled ? redisTemplate.getIfAvailable() : null;
+        if (template == null) {
+            deliver(events);
+            return;
+        }
+        try {
+            template.convertAndSend(EVENTS_CHANNEL, objectMapper.writeValueAsString(events));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to relay {} inbox events through Redis, delivering locally: {}",
+                    events.size(), e.getMessage());
+            deliver(events);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            deliver(objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), EVENTS_TYPE));
+        } catch (IOException e) {
+            log.warn("Skipping malformed inbox event message: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.inbox-stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        connections.forEach((recipientId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                remove(recipientId, emitter);
+            }
+        }));
+    }
+
+    int connectionCount() {
+        return connectionCount.get();
+    }
+
+    private void deliver(List<InboxEvent> events) {
+        for (InboxEvent event : events) {
+            Set<SseEmitter> emitters = connections.get(event.getRecipientId());
+            if (emitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .id(event.getNotificationId().toString())
+                            .name(event.getType().name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    remove(event.getRecipientId(), emitter);
+                }
+            }
+        }
+    }
+
+    private void remove(String recipientId, SseEmitter emitter) {
+        connections.computeIfPresent(recipientId, (key, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.notifications.service;
+
+import com.example.notifications.config.TwoTierCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationCacheEvictor {
+
+    static final String NOTIFICATION_CACHE = "notification";
+    static final String FEED_CACHE = "notificationFeed";
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public void evict(Collection<UUID> ids) {
+        evictAll(cache(NOTIFICATION_CACHE), ids.stream()
+                .map(UUID::toString)
+                .distinct()
+                .toList());
+    }
+
+    public void evictFeeds(Collection<String> recipientIds) {
+        evictAll(cache(FEED_CACHE), recipientIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+    }
+
+    public void evictAllFeeds() {
+        Cache cache = cache(FEED_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evictAll(Cache cache, List<String> keys) {
+        if (cache == null || keys.isEmpty()) {
+            return;
+        }
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictAll(keys);
+        } else {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    Cache cache(String name) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager == null ? null : manager.getCache(name);
+    }
+}
@@ -1,20 +1,47 @@
 package com.example.notifications.service;
 
+import com.example.notifications.config.KafkaConsumerProperties;
+import com.example.notifications.dto.InboxEventType;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
 import com.example.notifications.repository.NotificationRepository;
 import com.example.notifications.service.delivery.NotificationSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,25 +51,232 @@ public class NotificationDeliveryProcessor {
 
     private final NotificationRepository repository;
     private final NotificationSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationCacheEvictor cacheEvictor;
+    private final InboxStreamService inboxStream;
+    private final KafkaConsumerProperties consumerProperties;
+    private final MeterRegistry meterRegistry;
 
-    @Transactional
-    @CacheEvict(cacheNames = "notification", key = "#key")
-    public void process(Channel channel, String key, String payload) {
-        UUID notificationId = parseNotificationId(key);
-        Notification notification = repository.findById(notificationId)
-                .orElseThrow(() -> new IllegalArgumentException("Notification not found: " + notificationId));
+    private final Map<Channel, ExecutorService> keyExecutors = new EnumMap<>(Channel.class);
 
-        validateMessage(channel, payload, notification);
-        if (notification.getStatus() == Status.SENT) {
-            log.info("Skipping duplicate {} notification delivery {}", channel, notificationId);
-            return;
+    @PostConstruct
+    void startKeyExecutors() {
+        for (Channel channel : Channel.values()) {
+            int parallelism = consumerProperties.settingsFor(channel).getKeyParallelism();
+            if (parallelism > 1) {
+                keyExecutors.put(channel, Executors.newFixedThreadPool(parallelism,
+                        new CustomizableThreadFactory(channel.name().toLowerCase() + "-delivery-")));
+            }
+        }
+    }
+
+    @PreDestroy
+    void stopKeyExecutors() {
+        keyExecutors.values().forEach(ExecutorService::shutdown);
+    }
+
+    public void processBatch(Channel channel, List<ConsumerRecord<String, String>> records) {
+        process(channel, records, keyExecutors.get(channel));
+    }
+
+    public void processUrgentBatch(Channel channel, List<ConsumerRecord<String, String>> records) {
+        process(channel, records, null);
+    }
+
+    private void process(Channel channel, List<ConsumerRecord<String, String>> records, ExecutorService executor) {
+        Map<UUID, Notification> notifications = loadNotifications(records);
+        BatchOutcome outcome = new BatchOutcome();
+        if (sender.isCoalescing(channel)) {
+            deliverCoalesced(channel, records, notifications, outcome);
+        } else if (executor == null || records.size() < 2) {
+            deliverInOrder(channel, records, IntStream.range(0, records.size()).boxed().toList(), notifications, outcome);
+        } else {
+            deliverByKey(channel, records, notifications, outcome, executor);
+        }
+
+        markSent(outcome.drainSent(), notifications);
+        markExpired(channel, outcome.expired, notifications);
+        if (outcome.failure != null) {
+            throw new BatchListenerFailedException(outcome.failure.getMessage(), outcome.failure, outcome.failedIndex);
+        }
+    }
+
+    private void deliverByKey(
+            Channel channel,
+            List<ConsumerRecord<String, String>> records,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome,
+            ExecutorService executor) {
+        Map<String, List<Integer>> indexesByKey = new LinkedHashMap<>();
+        for (int index = 0; index < records.size(); index++) {
+            indexesByKey.computeIfAbsent(String.valueOf(records.get(index).key()), key -> new ArrayList<>()).add(index);
+        }
+        Map<List<Integer>, Future<?>> groups = new LinkedHashMap<>();
+        indexesByKey.values().forEach(indexes -> groups.put(indexes, executor.submit(
+                () -> deliverInOrder(channel, records, indexes, notifications, outcome))));
+        long timeoutMs = consumerProperties.getDeliveryTimeoutMs();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            for (Future<?> group : groups.values()) {
+                group.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("{} delivery did not finish within {} ms, cancelling unfinished keys", channel, timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outcome.abandon();
+        groups.forEach((indexes, group) -> {
+            if (!group.isDone()) {
+                group.cancel(true);
+                outcome.fail(indexes.get(0), new IllegalStateException(
+                        channel + " delivery did not finish within " + timeoutMs + " ms"));
+            }
+        });
+    }
+
+    private void deliverInOrder(
+            Channel channel,
+            List<ConsumerRecord<String, String>> records,
+            List<Integer> indexes,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome) {
+        for (int index : indexes) {
+            if (Thread.currentThread().isInterrupted() || outcome.isAbandoned()) {
+                return;
+            }
+            try {
+                deliver(channel, records.get(index), notifications, outcome);
+            } catch (RuntimeException e) {
+                outcome.fail(index, e);
+                return;
+            }
+        }
+    }
+
+    private void deliverCoalesced(
+            Channel channel,
+            List<ConsumerRecord<String, String>> records,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome) {
+        List<PendingDelivery> deliveries = new ArrayList<>();
+        Set<UUID> submitted = new HashSet<>();
+        for (int index = 0; index < records.size(); index++) {
+            try {
+                Notification notification = deliverable(channel, records.get(index), notifications, outcome);
+                if (notification != null && submitted.add(notification.getId())) {
+                    deliveries.add(new PendingDelivery(index, notification, sender.sendAsync(notification)));
+                }
+            } catch (RuntimeException e) {
+                outcome.fail(index, e);
+                break;
+            }
+        }
+        for (PendingDelivery delivery : deliveries) {
+            try {
+                delivery.result().orTimeout(consumerProperties.getDeliveryTimeoutMs(), TimeUnit.MILLISECONDS).join();
+                markDelivered(channel, delivery.notification(), notifications, outcome);
+            } catch (CompletionException e) {
+                outcome.fail(delivery.index(), e.getCause() instanceof RuntimeException cause ? cause : e);
+            }
+        }
+    }
+
+    private void deliver(
+            Channel channel,
+            ConsumerRecord<String, String> record,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome) {
+        Notification notification = deliverable(channel, record, notifications, outcome);
+        if (notification != null) {
+            sender.send(notification);
+            markDelivered(channel, notification, notifications, outcome);
+        }
+    }
+
+    private Notification deliverable(
+            Channel channel,
+            ConsumerRecord<String, String> record,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome) {
+        UUID notificationId = parseNotificationId(record.key());
+        Notification notification = notifications.get(notificationId);
+        if (notification == null) {
+            throw new IllegalArgumentException("Notification not found: " + notificationId);
+        }
+
+        validateMessage(channel, record.value(), notification);
+        if (notification.getStatus() == Status.SENT || notification.getStatus() == Status.EXPIRED) {
+            log.info("Skipping {} {} notification delivery {}", notification.getStatus(), channel, notificationId);
+            return null;
+        }
+        if (isExpired(notification)) {
+            log.info("Dropping expired {} notification {}", channel, notificationId);
+            notification.setStatus(Status.EXPIRED);
+            outcome.expired.add(notificationId);
+            return null;
         }
+        return notification;
+    }
 
-        sender.send(notification);
+    private void markDelivered(
+            Channel channel,
+            Notification notification,
+            Map<UUID, Notification> notifications,
+            BatchOutcome outcome) {
         notification.setStatus(Status.SENT);
-        notification.setSentAt(Instant.now());
-        notification.setErrorDescription(null);
-        repository.save(notification);
+        int flushSize = consumerProperties.settingsFor(channel).getSentFlushSize();
+        markSent(outcome.addSent(notification.getId(), flushSize), notifications);
+    }
+
+    private boolean isExpired(Notification notification) {
+        return notification.getExpiresAt() != null && !notification.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private Map<UUID, Notification> loadNotifications(List<ConsumerRecord<String, String>> records) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        records.forEach(record -> {
+            try {
+                ids.add(UUID.fromString(record.key()));
+            } catch (RuntimeException e) {
+                log.debug("Kafka message key is not notification UUID: {}", record.key());
+            }
+        });
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+    }
+
+    private void markSent(List<UUID> ids, Map<UUID, Notification> notifications) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<UUID> updated = transactionTemplate.execute(status -> repository.markSent(ids, now));
+        if (updated == null || updated.isEmpty()) {
+            return;
+        }
+        evictCaches(updated, notifications);
+        inboxStream.publish(InboxEventType.SENT, updated.stream().map(notifications::get).toList());
+    }
+
+    private void markExpired(Channel channel, List<UUID> ids, Map<UUID, Notification> notifications) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> repository.markExpired(ids));
+        evictCaches(ids, notifications);
+        meterRegistry.counter(OutboxExpirySweeper.EXPIRED_METRIC, "stage", "consumer", "channel", channel.name())
+                .increment(ids.size());
+    }
+
+    private void evictCaches(List<UUID> ids, Map<UUID, Notification> notifications) {
+        cacheEvictor.evict(ids);
+        cacheEvictor.evictFeeds(ids.stream()
+                .map(id -> notifications.get(id).getRecipientId())
+                .toList());
     }
 
     private void validateMessage(Channel channel, String payload, Notification notification) {
@@ -63,4 +297,47 @@ public class NotificationDeliveryProcessor {
             throw new IllegalArgumentException("Kafka message key must be notification UUID: " + key, e);
         }
     }
+
+    private static final class BatchOutcome {
+
+        private final List<UUID> sent = new ArrayList<>();
+        private final List<UUID> expired = Collections.synchronizedList(new ArrayList<>());
+        private int failedIndex = Integer.MAX_VALUE;
+        private RuntimeException failure;
+        private boolean abandoned;
+
+        // Once the batch stops waiting, a key task that still finishes a send persists it at once,
+        // because the batch has already drained its sent list.
+        private synchronized void abandon() {
+            abandoned = true;
+        }
+
+        private synchronized boolean isAbandoned() {
+            return abandoned;
+        }
+
+        private synchronized List<UUID> addSent(UUID id, int flushSize) {
+            if (abandoned) {
+                return List.of(id);
+            }
+            sent.add(id);
+            return flushSize > 0 && sent.size() >= flushSize ? drainSent() : List.of();
+        }
+
+        private synchronized List<UUID> drainSent() {
+            List<UUID> drained = List.copyOf(sent);
+            sent.clear();
+            return drained;
+        }
+
+        private synchronized void fail(int index, RuntimeException exception) {
+            if (index < failedIndex) {
+                failedIndex = index;
+                failure = exception;
+            }
+        }
+    }
+
+    private record PendingDelivery(int index, Notification notification, CompletableFuture<Void> result) {
+    }
 }
@@ -0,0 +1,237 @@
+package com.example.notifications.service;
+
+import com.example.notifications.config.KafkaTopicProperties;
+import com.example.notifications.entity.FanoutJob;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.FanoutStatus;
+import com.example.notifications.repository.FanoutJobRepository;
+import com.example.notifications.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+public class NotificationFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private final FanoutJobRepository jobRepository;
+    private final NotificationRepository notificationRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTopicProperties topicProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationCacheEvictor cacheEvictor;
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    @Value("${notification.fanout.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${notification.fanout.lease-seconds:60}")
+    private long leaseSeconds;
+    @Value("${notification.fanout.workers:2}")
+    private int workers;
+    @Value("${notification.outbox.send-timeout-seconds}")
+    private long sendTimeoutSeconds;
+
+    private ExecutorService workerPool;
+
+    @PostConstruct
+    void startWorkers() {
+        workerPool = Executors.newFixedThreadPool(
+                Math.max(1, workers), new CustomizableThreadFactory("fanout-worker-"));
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${notification.fanout.poll-delay-ms:1000}",
+            initialDelayString = "${notification.outbox.initial-delay-ms}"
+    )
+    public void runPendingJobs() {
+        while (runningJobs.get() < Math.max(1, workers)) {
+            Optional<FanoutJob> job = claimJob();
+            if (job.isEmpty()) {
+                return;
+            }
+            runningJobs.incrementAndGet();
+            try {
+                workerPool.execute(() -> {
+                    try {
+                        runSafely(job.get());
+                    } finally {
+                        runningJobs.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runningJobs.decrementAndGet();
+                log.warn("Fan-out job {} was not started, it will be picked up after the lease expires",
+                        job.get().getId());
+                return;
+            }
+        }
+    }
+
+    private void runSafely(FanoutJob job) {
+        try {
+            run(job);
+        } catch (RuntimeException e) {
+            log.warn("Fan-out job {} failed, it will resume from its checkpoint after the lease expires: {}",
+                    job.getId(),
+                    e.getMessage());
+        }
+    }
+
+    public void recordSettled(Map<UUID, Set<String>> settledRecipients) {
+        if (settledRecipients.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<UUID> completed = transactionTemplate.execute(status -> {
+            settledRecipients.forEach((notificationId, recipientIds) -> {
+                if (!recipientIds.isEmpty()) {
+                    jobRepository.addSettled(notificationId, recipientIds);
+                }
+            });
+            return markFanoutSent(settledRecipients.keySet(), now);
+        });
+        if (completed != null && !completed.isEmpty()) {
+            cacheEvictor.evict(completed);
+            log.info("Fan-out delivery settled for {} of {} notifications", completed.size(), settledRecipients.size());
+        }
+    }
+
+    public void recordDeadLettered(String recipientId, String value) {
+        try {
+            recordSettled(Map.of(UUID.fromString(value), Set.of(recipientId)));
+        } catch (IllegalArgumentException e) {
+            log.debug("Dead-lettered fan-out message value is not notification UUID: {}", value);
+        }
+    }
+
+    private List<UUID> markFanoutSent(Collection<UUID> notificationIds, Instant now) {
+        List<UUID> completed = notificationRepository.markFanoutSent(notificationIds, now);
+        if (!completed.isEmpty()) {
+            jobRepository.deleteSettledRecipients(completed);
+        }
+        return completed;
+    }
+
+    private Optional<FanoutJob> claimJob() {
+        return Optional.ofNullable(transactionTemplate.execute(status -> jobRepository
+                .findClaimableForUpdate(Instant.now())
+                .map(job -> {
+                    job.setStatus(FanoutStatus.RUNNING);
+                    job.setLeaseOwner(UUID.randomUUID().toString());
+                    job.setLeaseUntil(leaseUntil());
+                    return jobRepository.save(job);
+                })
+                .orElse(null)));
+    }
+
+    private void run(FanoutJob job) {
+        Notification notification = notificationRepository.findById(job.getNotificationId())
+                .orElseThrow(() -> new IllegalStateException("Notification not found: " + job.getNotificationId()));
+        String lastRecipientId = job.getLastRecipientId() == null ? "" : job.getLastRecipientId();
+        while (true) {
+            if (isExpired(notification)) {
+                finish(job, FanoutStatus.EXPIRED);
+                return;
+            }
+            List<String> recipients = findRecipients(job, lastRecipientId);
+            if (recipients.isEmpty()) {
+                finish(job, FanoutStatus.COMPLETED);
+                return;
+            }
+
+            emit(job.getNotificationId(), recipients);
+            lastRecipientId = recipients.get(recipients.size() - 1);
+            if (!checkpoint(job, lastRecipientId, recipients.size())) {
+                log.warn("Fan-out job {} lease was taken over, stopping at recipient {}", job.getId(), lastRecipientId);
+                return;
+            }
+        }
+    }
+
+    private List<String> findRecipients(FanoutJob job, String lastRecipientId) {
+        if (job.getAudienceType() == AudienceType.SEGMENT) {
+            return jobRepository.findSegmentRecipientsAfter(job.getAudienceTarget(), lastRecipientId, chunkSize);
+        }
+        return jobRepository.findBroadcastRecipientsAfter(lastRecipientId, chunkSize);
+    }
+
+    private void emit(UUID notificationId, List<String> recipients) {
+        String value = notificationId.toString();
+        CompletableFuture<?>[] sends = recipients.stream()
+                .map(recipientId -> kafkaTemplate.send(topicProperties.getPushFanout(), recipientId, value))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sends).get(sendTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while emitting fan-out chunk for " + notificationId, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to emit fan-out chunk for " + notificationId, e);
+        }
+    }
+
+    private boolean checkpoint(FanoutJob job, String lastRecipientId, int emitted) {
+        Integer updated = transactionTemplate.execute(status -> jobRepository.saveCheckpoint(
+                job.getId(), job.getLeaseOwner(), lastRecipientId, emitted, leaseUntil()));
+        return updated != null && updated > 0;
+    }
+
+    private void finish(FanoutJob job, FanoutStatus status) {
+        List<UUID> notificationIds = List.of(job.getNotificationId());
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(transaction -> {
+            if (jobRepository.finish(job.getId(), job.getLeaseOwner(), status, now) == 0) {
+                return;
+            }
+            if (status == FanoutStatus.EXPIRED) {
+                notificationRepository.markExpired(notificationIds);
+                jobRepository.deleteSettledRecipients(notificationIds);
+            } else {
+                markFanoutSent(notificationIds, now);
+            }
+        });
+        cacheEvictor.evict(notificationIds);
+        log.info("Fan-out job {} for notification {} finished as {}", job.getId(), job.getNotificationId(), status);
+    }
+
+    private boolean isExpired(Notification notification) {
+        return notification.getExpiresAt() != null && !notification.getExpiresAt().isAfter(Instant.now());
+    }
+
+    private Instant leaseUntil() {
+        return Instant.now().plusSeconds(leaseSeconds);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Collections;
 import java.util.UUID;
 
 @Service
@@ -19,6 +20,7 @@ public class NotificationProcessingFailureService {
     private static final Logger log = LoggerFactory.getLogger(NotificationProcessingFailureService.class);
 
     private final NotificationRepository repository;
+    private final NotificationCacheEvictor cacheEvictor;
 
     @Transactional
     @CacheEvict(cacheNames = "notification", key = "#key")
@@ -32,6 +34,7 @@ public class NotificationProcessingFailureService {
             notification.setStatus(Status.FAILED);
             notification.setErrorDescription(errorMessage(exception));
             repository.save(notification);
+            cacheEvictor.evictFeeds(Collections.singletonList(notification.getRecipientId()));
         }, () -> log.warn("Unable to mark missing notification {} as failed", notificationId));
     }
 
@@ -1,11 +1,15 @@
 package com.example.notifications.service;
 
+import com.example.notifications.dto.NotificationBatchItemResponse;
+import com.example.notifications.dto.NotificationFeedResponse;
 import com.example.notifications.dto.NotificationRequest;
 import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.dto.UnreadCountResponse;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
 import org.springframework.data.domain.Page;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,6 +17,8 @@ public interface NotificationService {
 
     List<NotificationResponse> createNotifications(NotificationRequest request);
 
+    List<NotificationBatchItemResponse> createNotificationsBatch(List<NotificationRequest> requests);
+
     NotificationResponse getById(UUID id);
 
     Page<NotificationResponse> getAll(
@@ -23,7 +29,21 @@ public interface NotificationService {
             int size
     );
 
+    NotificationFeedResponse getFeed(
+            String recipientId,
+            List<Channel> channels,
+            List<Status> statuses,
+            String cursor,
+            int size
+    );
+
+    UnreadCountResponse getUnreadCount(String recipientId);
+
     void markAsRead(UUID id);
 
+    int markAsRead(List<UUID> ids);
+
+    int markAllAsRead(String recipientId, Instant before);
+
     void markAsUnread(UUID id);
 }
@@ -1,10 +1,17 @@
 package com.example.notifications.service;
 
 import com.example.notifications.config.KafkaTopicProperties;
+import com.example.notifications.dto.InboxEventType;
+import com.example.notifications.dto.NotificationBatchItemResponse;
+import com.example.notifications.dto.NotificationBatchItemStatus;
+import com.example.notifications.dto.NotificationFeedResponse;
 import com.example.notifications.dto.NotificationRequest;
 import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.dto.UnreadCountResponse;
+import com.example.notifications.entity.FanoutJob;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.OutboxMessage;
+import com.example.notifications.entity.UnreadCounter;
 import com.example.notifications.entity.enums.AudienceType;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.NotificationPriority;
@@ -13,111 +20,455 @@ import com.example.notifications.entity.enums.Status;
 import com.example.notifications.exception.DuplicateRequestConflictException;
 import com.example.notifications.exception.NotificationNotFoundException;
 import com.example.notifications.mapper.NotificationMapper;
+import com.example.notifications.repository.FanoutJobRepository;
 import com.example.notifications.repository.NotificationRepository;
 import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.repository.UnreadCounterRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final NotificationRepository repository;
     private final OutboxMessageRepository outboxRepository;
+    private final FanoutJobRepository fanoutJobRepository;
     private final NotificationMapper mapper;
     private final KafkaTopicProperties topicProperties;
     private final TransactionTemplate transactionTemplate;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final NotificationCacheEvictor cacheEvictor;
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final InboxStreamService inboxStream;
+
+    @Value("${notification.outbox.listen-enabled:false}")
+    private boolean outboxNotifyEnabled;
+    @Value("${notification.batch.chunk-size:500}")
+    private int batchChunkSize;
+    @Value("${notification.feed.cache-enabled:false}")
+    private boolean feedCacheEnabled;
+    @Value("${notification.feed.cached-page-size:20}")
+    private int feedCachedPageSize;
 
     @Override
     public List<NotificationResponse> createNotifications(NotificationRequest request) {
-        return findExistingNotifications(request)
-                .orElseGet(() -> createNewNotifications(request));
+        String idempotencyKey = requiredIdempotencyKey(request);
+        String fingerprint = fingerprint(request);
+        Optional<List<NotificationResponse>> cached = findCachedReplay(request, idempotencyKey, fingerprint);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Instant createdAt = Instant.now();
+        List<Notification> notifications = buildNotifications(request);
+        notifications.forEach(notification -> {
+            notification.setId(UUID.randomUUID());
+            notification.setVersion(0L);
+            notification.setCreatedAt(createdAt);
+        });
+
+        Boolean inserted = transactionTemplate.execute(status -> insertIfAbsent(notifications, status));
+        List<NotificationResponse> responses;
+        if (Boolean.TRUE.equals(inserted)) {
+            responses = notifications.stream()
+                    .map(mapper::toDto)
+                    .toList();
+            cacheResponses(responses);
+            cacheEvictor.evictFeeds(Collections.singletonList(normalize(request.getRecipientId())));
+            inboxStream.publish(InboxEventType.CREATED, notifications);
+        } else {
+            responses = findExistingNotifications(request)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Notifications conflicted on idempotency key but were not found: " + idempotencyKey));
+        }
+        idempotencyCache.put(idempotencyKey, fingerprint, responses.stream().map(NotificationResponse::getId).toList());
+        return responses;
+    }
+
+    private Optional<List<NotificationResponse>> findCachedReplay(
+            NotificationRequest request,
+            String idempotencyKey,
+            String fingerprint
+    ) {
+        Optional<IdempotencyCache.Entry> entry = idempotencyCache.find(idempotencyKey);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!entry.get().fingerprint().equals(fingerprint)) {
+            throw new DuplicateRequestConflictException(idempotencyKey);
+        }
+
+        List<NotificationResponse> responses = loadResponses(entry.get().notificationIds());
+        if (responses.size() != entry.get().notificationIds().size()) {
+            idempotencyCache.invalidate(idempotencyKey);
+            return Optional.empty();
+        }
+        List<Channel> requestedChannels = uniqueChannels(request.getChannels());
+        return Optional.of(responses.stream()
+                .sorted(Comparator.comparingInt(response -> channelOrder(requestedChannels, response.getChannel())))
+                .toList());
+    }
+
+    private List<NotificationResponse> loadResponses(List<UUID> ids) {
+        Cache cache = notificationCache();
+        List<NotificationResponse> responses = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            NotificationResponse response = cache == null ? null : cache.get(id.toString(), NotificationResponse.class);
+            if (response == null) {
+                missing.add(id);
+            } else {
+                responses.add(response);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<NotificationResponse> loaded = repository.findAllById(missing).stream()
+                    .map(mapper::toDto)
+                    .toList();
+            cacheResponses(loaded);
+            responses.addAll(loaded);
+        }
+        return responses;
+    }
+
+    private void cacheResponses(List<NotificationResponse> responses) {
+        Cache cache = notificationCache();
+        if (cache != null) {
+            responses.forEach(response -> cache.put(response.getId().toString(), response));
+        }
+    }
+
+    private Cache notificationCache() {
+        return cache(NotificationCacheEvictor.NOTIFICATION_CACHE);
+    }
+
+    private Cache cache(String name) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager == null ? null : manager.getCache(name);
+    }
+
+    private String fingerprint(NotificationRequest request) {
+        AudienceType audienceType = resolveAudienceType(request);
+        StringBuilder canonical = new StringBuilder()
+                .append(normalize(request.getRecipientId())).append('\0')
+                .append(audienceType).append('\0')
+                .append(resolveAudienceTarget(request, audienceType)).append('\0')
+                .append(request.getPayload()).append('\0')
+                .append(resolvePriority(request)).append('\0')
+                .append(request.getExpiresAt());
+        uniqueChannels(request.getChannels()).stream()
+                .sorted()
+                .forEach(channel -> canonical.append('\0')
+                        .append(channel).append('=')
+                        .append(resolveDestination(request, channel)));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private boolean insertIfAbsent(List<Notification> notifications, TransactionStatus status) {
+        List<OutboxMessage> outboxMessages = new ArrayList<>();
+        List<FanoutJob> fanoutJobs = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (requiresFanout(notification)) {
+                fanoutJobs.add(buildFanoutJob(notification));
+            } else {
+                outboxMessages.add(buildOutboxMessage(notification));
+            }
+        }
+
+        int inserted = repository.insertIfAbsent(notifications, outboxMessages, fanoutJobs);
+        if (inserted < notifications.size()) {
+            if (inserted > 0) {
+                status.setRollbackOnly();
+            }
+            return false;
+        }
+        incrementUnreadCounts(notifications);
+        if (outboxNotifyEnabled && !outboxMessages.isEmpty()) {
+            outboxRepository.notifyPending();
+        }
+        return true;
+    }
+
+    private void incrementUnreadCounts(List<Notification> notifications) {
+        notifications.stream()
+                .map(Notification::getRecipientId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()))
+                .forEach(unreadCounterRepository::add);
+    }
+
+    private void adjustUnreadCount(Notification notification, long delta) {
+        if (notification.getRecipientId() != null && !Boolean.TRUE.equals(notification.getArchived())) {
+            unreadCounterRepository.add(notification.getRecipientId(), delta);
+        }
+    }
+
+    @Override
+    public List<NotificationBatchItemResponse> createNotificationsBatch(List<NotificationRequest> requests) {
+        NotificationBatchItemResponse[] results = new NotificationBatchItemResponse[requests.size()];
+        for (int from = 0; from < requests.size(); from += batchChunkSize) {
+            createBatchChunk(requests, from, Math.min(from + batchChunkSize, requests.size()), results);
+        }
+        return List.of(results);
     }
 
-    private List<NotificationResponse> createNewNotifications(NotificationRequest request) {
+    private void createBatchChunk(
+            List<NotificationRequest> requests,
+            int from,
+            int to,
+            NotificationBatchItemResponse[] results
+    ) {
+        Map<String, List<Notification>> existingByKey = findExistingByKey(requests.subList(from, to));
+        Map<Integer, NotificationRequest> toCreate = new LinkedHashMap<>();
+        List<Integer> replays = new ArrayList<>();
+        Set<String> claimedKeys = new HashSet<>();
+        for (int index = from; index < to; index++) {
+            String idempotencyKey = requiredIdempotencyKey(requests.get(index));
+            if (existingByKey.containsKey(idempotencyKey) || !claimedKeys.add(idempotencyKey)) {
+                replays.add(index);
+            } else {
+                toCreate.put(index, requests.get(index));
+            }
+        }
+
+        if (!toCreate.isEmpty()) {
+            try {
+                List<List<Notification>> created = transactionTemplate.execute(
+                        status -> insertBatch(List.copyOf(toCreate.values())));
+                List<Notification> createdNotifications = created.stream()
+                        .flatMap(List::stream)
+                        .toList();
+                cacheEvictor.evictFeeds(createdNotifications.stream()
+                        .map(Notification::getRecipientId)
+                        .toList());
+                inboxStream.publish(InboxEventType.CREATED, createdNotifications);
+                int position = 0;
+                for (Map.Entry<Integer, NotificationRequest> entry : toCreate.entrySet()) {
+                    List<Notification> notifications = created.get(position++);
+                    existingByKey.put(requiredIdempotencyKey(entry.getValue()), notifications);
+                    results[entry.getKey()] = batchItem(entry.getKey(), entry.getValue(),
+                            NotificationBatchItemStatus.CREATED, notifications.stream().map(mapper::toDto).toList());
+                }
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Batch insert of {} notification requests hit a concurrent duplicate, creating one by one",
+                        toCreate.size());
+                toCreate.forEach((index, request) -> results[index] = createBatchItem(index, request));
+                replays.forEach(index -> results[index] = createBatchItem(index, requests.get(index)));
+                return;
+            }
+        }
+
+        for (int index : replays) {
+            NotificationRequest request = requests.get(index);
+            results[index] = replayBatchItem(index, request, existingByKey.get(requiredIdempotencyKey(request)));
+        }
+    }
+
+    private List<List<Notification>> insertBatch(List<NotificationRequest> requests) {
+        List<List<Notification>> perRequest = requests.stream()
+                .map(this::buildNotifications)
+                .toList();
+        List<Notification> notifications = perRequest.stream()
+                .flatMap(List::stream)
+                .toList();
+        repository.saveAll(notifications);
+        repository.flush();
+
+        List<OutboxMessage> outboxMessages = new ArrayList<>();
+        List<FanoutJob> fanoutJobs = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (requiresFanout(notification)) {
+                fanoutJobs.add(buildFanoutJob(notification));
+            } else {
+                outboxMessages.add(buildOutboxMessage(notification));
+            }
+        }
+        outboxRepository.saveAll(outboxMessages);
+        fanoutJobRepository.saveAll(fanoutJobs);
+        incrementUnreadCounts(notifications);
+        if (outboxNotifyEnabled && !outboxMessages.isEmpty()) {
+            outboxRepository.notifyPending();
+        }
+        return perRequest;
+    }
+
+    private NotificationBatchItemResponse createBatchItem(int index, NotificationRequest request) {
         try {
-            return transactionTemplate.execute(status -> createNotificationsInTransaction(request));
-        } catch (DataIntegrityViolationException e) {
-            return findExistingNotifications(request).orElseThrow(() -> e);
+            Optional<List<NotificationResponse>> existing = findExistingNotifications(request);
+            if (existing.isPresent()) {
+                return batchItem(index, request, NotificationBatchItemStatus.EXISTING, existing.get());
+            }
+            return batchItem(index, request, NotificationBatchItemStatus.CREATED, createNotifications(request));
+        } catch (DuplicateRequestConflictException e) {
+            return conflictBatchItem(index, request, e);
         }
     }
 
-    private List<NotificationResponse> createNotificationsInTransaction(NotificationRequest request) {
-        List<NotificationResponse> result = new ArrayList<>();
+    private NotificationBatchItemResponse replayBatchItem(
+            int index,
+            NotificationRequest request,
+            List<Notification> existing
+    ) {
+        try {
+            return batchItem(index, request, NotificationBatchItemStatus.EXISTING, replayResponses(request, existing));
+        } catch (DuplicateRequestConflictException e) {
+            return conflictBatchItem(index, request, e);
+        }
+    }
+
+    private NotificationBatchItemResponse conflictBatchItem(
+            int index,
+            NotificationRequest request,
+            DuplicateRequestConflictException e
+    ) {
+        NotificationBatchItemResponse item = batchItem(index, request, NotificationBatchItemStatus.CONFLICT, List.of());
+        item.setError(e.getMessage());
+        return item;
+    }
+
+    private NotificationBatchItemResponse batchItem(
+            int index,
+            NotificationRequest request,
+            NotificationBatchItemStatus status,
+            List<NotificationResponse> notifications
+    ) {
+        return NotificationBatchItemResponse.builder()
+                .index(index)
+                .idempotencyKey(requiredIdempotencyKey(request))
+                .status(status)
+                .notifications(notifications)
+                .build();
+    }
+
+    private Map<String, List<Notification>> findExistingByKey(List<NotificationRequest> requests) {
+        Set<String> idempotencyKeys = requests.stream()
+                .map(this::requiredIdempotencyKey)
+                .collect(Collectors.toSet());
+        return repository.findByIdempotencyKeyIn(idempotencyKeys).stream()
+                .collect(Collectors.groupingBy(Notification::getIdempotencyKey, HashMap::new, Collectors.toList()));
+    }
+
+    private List<Notification> buildNotifications(NotificationRequest request) {
         AudienceType audienceType = resolveAudienceType(request);
         NotificationPriority priority = resolvePriority(request);
         String audienceTarget = resolveAudienceTarget(request, audienceType);
         String recipientId = normalize(request.getRecipientId());
         String idempotencyKey = requiredIdempotencyKey(request);
 
-        for (Channel channel : uniqueChannels(request.getChannels())) {
-            Notification notification = Notification.builder()
-                    .recipientId(recipientId)
-                    .audienceType(audienceType)
-                    .audienceTarget(audienceTarget)
-                    .destination(resolveDestination(request, channel))
-                    .payload(request.getPayload())
-                    .channel(channel)
-                    .priority(priority)
-                    .status(Status.PENDING)
-                    .expiresAt(request.getExpiresAt())
-                    .idempotencyKey(idempotencyKey)
-                    .isRead(false)
-                    .archived(false)
-                    .build();
-            notification = repository.saveAndFlush(notification);
-
-            outboxRepository.save(buildOutboxMessage(notification));
-
-            result.add(mapper.toDto(notification));
-        }
-        return result;
+        return uniqueChannels(request.getChannels()).stream()
+                .map(channel -> Notification.builder()
+                        .recipientId(recipientId)
+                        .audienceType(audienceType)
+                        .audienceTarget(audienceTarget)
+                        .destination(resolveDestination(request, channel))
+                        .payload(request.getPayload())
+                        .channel(channel)
+                        .priority(priority)
+                        .status(Status.PENDING)
+                        .expiresAt(request.getExpiresAt())
+                        .idempotencyKey(idempotencyKey)
+                        .isRead(false)
+                        .archived(false)
+                        .build())
+                .toList();
     }
 
     private OutboxMessage buildOutboxMessage(Notification notification) {
         return OutboxMessage.builder()
                 .notificationId(notification.getId())
-                .topic(topicProperties.topicFor(notification.getChannel()))
+                .topic(topicProperties.topicFor(notification.getChannel(), notification.getPriority()))
                 .messageKey(notification.getId().toString())
                 .payload(notification.getPayload())
+                .priority(notification.getPriority())
+                .expiresAt(notification.getExpiresAt())
                 .status(OutboxStatus.PENDING)
                 .build();
     }
 
+    private boolean requiresFanout(Notification notification) {
+        return notification.getChannel() == Channel.PUSH
+                && notification.getAudienceType() != AudienceType.PERSONAL
+                && notification.getDestination() == null;
+    }
+
+    private FanoutJob buildFanoutJob(Notification notification) {
+        return FanoutJob.builder()
+                .notificationId(notification.getId())
+                .audienceType(notification.getAudienceType())
+                .audienceTarget(notification.getAudienceTarget())
+                .build();
+    }
+
     private Optional<List<NotificationResponse>> findExistingNotifications(NotificationRequest request) {
         String idempotencyKey = requiredIdempotencyKey(request);
         List<Notification> existing = repository.findByIdempotencyKey(idempotencyKey);
         if (existing.isEmpty()) {
             return Optional.empty();
         }
+        return Optional.of(replayResponses(request, existing));
+    }
 
+    private List<NotificationResponse> replayResponses(NotificationRequest request, List<Notification> existing) {
         List<Channel> requestedChannels = uniqueChannels(request.getChannels());
-        validateIdempotentReplay(request, existing, requestedChannels, idempotencyKey);
-        return Optional.of(existing.stream()
-                .sorted(Comparator.comparingInt(n -> channelOrder(requestedChannels, n)))
+        validateIdempotentReplay(request, existing, requestedChannels, requiredIdempotencyKey(request));
+        return existing.stream()
+                .sorted(Comparator.comparingInt(n -> channelOrder(requestedChannels, n.getChannel())))
                 .map(mapper::toDto)
-                .toList());
+                .toList();
     }
 
     private void validateIdempotentReplay(
@@ -153,8 +504,8 @@ public class NotificationServiceImpl implements NotificationService {
                 && Objects.equals(notification.getExpiresAt(), request.getExpiresAt());
     }
 
-    private int channelOrder(List<Channel> channels, Notification notification) {
-        int index = channels.indexOf(notification.getChannel());
+    private int channelOrder(List<Channel> channels, Channel channel) {
+        int index = channels.indexOf(channel);
         return index < 0 ? channels.size() : index;
     }
 
@@ -259,14 +610,137 @@ public class NotificationServiceImpl implements NotificationService {
         return repository.findByRecipientIdAndArchivedFalseAndChannelInAndStatusIn(recipientId, ch, st, pageable);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public NotificationFeedResponse getFeed(
+            String recipientId,
+            List<Channel> channels,
+            List<Status> statuses,
+            String cursor,
+            int size
+    ) {
+        boolean cacheable = feedCacheEnabled
+                && cursor == null
+                && isEmpty(channels)
+                && isEmpty(statuses)
+                && size == feedCachedPageSize;
+        Cache cache = cacheable ? cache(NotificationCacheEvictor.FEED_CACHE) : null;
+        if (cache != null) {
+            NotificationFeedResponse cached = cache.get(recipientId, NotificationFeedResponse.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        NotificationFeedResponse feed = loadFeed(recipientId, channels, statuses, cursor, size);
+        if (cache != null) {
+            cache.put(recipientId, feed);
+        }
+        return feed;
+    }
+
+    private NotificationFeedResponse loadFeed(
+            String recipientId,
+            List<Channel> channels,
+            List<Status> statuses,
+            String cursor,
+            int size
+    ) {
+        boolean anyChannel = isEmpty(channels);
+        boolean anyStatus = isEmpty(statuses);
+        List<Channel> channelFilter = anyChannel ? List.of() : channels;
+        List<Status> statusFilter = anyStatus ? List.of() : statuses;
+        Limit limit = Limit.of(size + 1);
+
+        List<Notification> rows;
+        if (cursor == null) {
+            rows = repository.findFeedFirstPage(
+                    recipientId, anyChannel, channelFilter, anyStatus, statusFilter, limit);
+        } else {
+            FeedCursor position = decodeCursor(cursor);
+            rows = repository.findFeedAfter(recipientId, position.createdAt(), position.id(),
+                    anyChannel, channelFilter, anyStatus, statusFilter, limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Notification> page = hasNext ? rows.subList(0, size) : rows;
+        return NotificationFeedResponse.builder()
+                .items(page.stream().map(mapper::toDto).collect(Collectors.toCollection(ArrayList::new)))
+                .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private String encodeCursor(Notification notification) {
+        String position = notification.getCreatedAt() + CURSOR_SEPARATOR + notification.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FeedCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(CURSOR_SEPARATOR);
+            return new FeedCursor(
+                    Instant.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + cursor, e);
+        }
+    }
+
+    private boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UnreadCountResponse getUnreadCount(String recipientId) {
+        long unreadCount = unreadCounterRepository.findById(recipientId)
+                .map(UnreadCounter::getUnreadCount)
+                .orElse(0L);
+        return UnreadCountResponse.builder()
+                .recipientId(recipientId)
+                .unreadCount(unreadCount)
+                .build();
+    }
+
     @Transactional
     @CacheEvict(cacheNames = "notification", key = "#id.toString()")
     @Override
     public void markAsRead(UUID id) {
         Notification notification = repository.findById(id)
                 .orElseThrow(() -> new NotificationNotFoundException(id));
+        boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
         notification.setIsRead(true);
         repository.save(notification);
+        if (wasUnread) {
+            adjustUnreadCount(notification, -1);
+        }
+        evictFeedAfterCommit(notification.getRecipientId());
+    }
+
+    @Override
+    public int markAsRead(List<UUID> ids) {
+        List<NotificationRepository.ReadMark> marked = transactionTemplate.execute(
+                status -> repository.markReadByIds(new LinkedHashSet<>(ids)));
+        return evictMarkedRead(marked);
+    }
+
+    @Override
+    public int markAllAsRead(String recipientId, Instant before) {
+        List<NotificationRepository.ReadMark> marked = transactionTemplate.execute(
+                status -> repository.markAllReadBefore(recipientId, before));
+        return evictMarkedRead(marked);
+    }
+
+    private int evictMarkedRead(List<NotificationRepository.ReadMark> marked) {
+        cacheEvictor.evict(marked.stream()
+                .map(NotificationRepository.ReadMark::getId)
+                .toList());
+        cacheEvictor.evictFeeds(marked.stream()
+                .map(NotificationRepository.ReadMark::getRecipientId)
+                .toList());
+        return marked.size();
     }
 
     @Transactional
@@ -275,7 +749,29 @@ public class NotificationServiceImpl implements NotificationService {
     public void markAsUnread(UUID id) {
         Notification notification = repository.findById(id)
                 .orElseThrow(() -> new NotificationNotFoundException(id));
+        boolean wasRead = Boolean.TRUE.equals(notification.getIsRead());
         notification.setIsRead(false);
         repository.save(notification);
+        if (wasRead) {
+            adjustUnreadCount(notification, 1);
+        }
+        evictFeedAfterCommit(notification.getRecipientId());
+    }
+
+    private void evictFeedAfterCommit(String recipientId) {
+        List<String> recipientIds = Collections.singletonList(recipientId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheEvictor.evictFeeds(recipientIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheEvictor.evictFeeds(recipientIds);
+            }
+        });
+    }
+
+    private record FeedCursor(Instant createdAt, UUID id) {
     }
 }
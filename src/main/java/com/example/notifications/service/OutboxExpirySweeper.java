@@ -0,0 +1,44 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.repository.OutboxMessageRepository.ExpiredMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxExpirySweeper {
+
+    static final String EXPIRED_METRIC = "notifications.expired";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxExpirySweeper.class);
+
+    private final OutboxMessageRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final NotificationCacheEvictor cacheEvictor;
+
+    @Scheduled(
+            fixedDelayString = "${notification.outbox.expiry-sweep-delay-ms:10000}",
+            initialDelayString = "${notification.outbox.initial-delay-ms}"
+    )
+    public void expirePending() {
+        List<ExpiredMessage> expired = transactionTemplate.execute(
+                status -> outboxRepository.expirePending(Instant.now()));
+        if (expired == null || expired.isEmpty()) {
+            return;
+        }
+        cacheEvictor.evict(expired.stream().map(ExpiredMessage::getNotificationId).toList());
+        cacheEvictor.evictFeeds(expired.stream().map(ExpiredMessage::getRecipientId).toList());
+        meterRegistry.counter(EXPIRED_METRIC, "stage", "outbox").increment(expired.size());
+        log.info("Expired {} pending outbox messages", expired.size());
+    }
+}
@@ -3,21 +3,39 @@ package com.example.notifications.service;
 import com.example.notifications.entity.OutboxMessage;
 import com.example.notifications.entity.enums.OutboxStatus;
 import com.example.notifications.repository.OutboxMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.outbox", name = "relay", havingValue = "polling", matchIfMissing = true)
 public class OutboxPublisher {
 
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+
     private final OutboxMessageRepository outboxRepository;
     private final NotificationProcessingFailureService failureService;
     private final KafkaTemplate<String, String> kafkaTemplate;
@@ -31,6 +49,32 @@ public class OutboxPublisher {
     private int batchSize;
     @Value("${notification.outbox.processing-timeout-seconds}")
     private long processingTimeoutSeconds;
+    @Value("${notification.outbox.pipelined:false}")
+    private boolean pipelined;
+    @Value("${notification.outbox.workers:1}")
+    private int workers;
+
+    private ExecutorService workerPool;
+    private AtomicBoolean[] busyWorkers;
+
+    @PostConstruct
+    void startWorkers() {
+        if (workers <= 1) {
+            return;
+        }
+        workerPool = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("outbox-worker-"));
+        busyWorkers = new AtomicBoolean[workers];
+        for (int worker = 0; worker < workers; worker++) {
+            busyWorkers[worker] = new AtomicBoolean();
+        }
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
 
     @Scheduled(
             fixedDelayString = "${notification.outbox.publish-delay-ms}",
@@ -38,7 +82,53 @@ public class OutboxPublisher {
     )
     public void publishPending() {
         resetStaleProcessing();
-        claimPendingMessages().forEach(this::publish);
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        if (workerPool == null) {
+            publishBatch(claimPendingMessages());
+            return;
+        }
+        for (int worker = 0; worker < workers; worker++) {
+            dispatchWorker(worker);
+        }
+    }
+
+    private void dispatchWorker(int worker) {
+        AtomicBoolean busy = busyWorkers[worker];
+        if (!busy.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            workerPool.execute(() -> {
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    log.warn("Outbox worker {} failed: {}", worker, e.getMessage());
+                } finally {
+                    busy.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            busy.set(false);
+        }
+    }
+
+    private void drain() {
+        List<OutboxMessage> messages;
+        do {
+            messages = claimPendingMessages();
+            publishBatch(messages);
+        } while (messages.size() >= batchSize && !workerPool.isShutdown());
+    }
+
+    private void publishBatch(List<OutboxMessage> messages) {
+        if (pipelined) {
+            publishPipelined(messages);
+        } else {
+            messages.forEach(this::publish);
+        }
     }
 
     private void resetStaleProcessing() {
@@ -70,30 +160,121 @@ public class OutboxPublisher {
         }
     }
 
+    private void publishPipelined(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> sends = messages.stream()
+                .<CompletableFuture<?>>map(this::sendAsync)
+                .toList();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+
+        List<OutboxMessage> published = new ArrayList<>();
+        Map<OutboxMessage, Exception> failed = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(messages.get(i));
+            } catch (Exception e) {
+                failed.put(messages.get(i), e);
+            }
+        }
+        writeBack(published, failed);
+    }
+
+    private CompletableFuture<?> sendAsync(OutboxMessage message) {
+        try {
+            return kafkaTemplate.send(message.getTopic(), message.getMessageKey(), message.getPayload());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void writeBack(List<OutboxMessage> published, Map<OutboxMessage, Exception> failed) {
+        Instant now = Instant.now();
+        Map<Long, List<UUID>> publishedByVersion = new LinkedHashMap<>();
+        published.forEach(message -> publishedByVersion
+                .computeIfAbsent(claimedVersion(message), version -> new ArrayList<>())
+                .add(message.getId()));
+        published.forEach(message -> applyPublished(message, now));
+
+        Map<FailureGroup, List<OutboxMessage>> failedGroups = new LinkedHashMap<>();
+        failed.forEach((message, exception) -> {
+            long version = claimedVersion(message);
+            applyPublishFailed(message, exception, now);
+            failedGroups.computeIfAbsent(
+                            new FailureGroup(version, message.getStatus(), message.getLastError()),
+                            group -> new ArrayList<>())
+                    .add(message);
+        });
+
+        List<OutboxMessage> failedWrittenBack = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            publishedByVersion.forEach((version, ids) ->
+                    reportStaleWriteBack(ids.size(), outboxRepository.markPublished(ids, version, now)));
+            failedGroups.forEach((group, messages) -> {
+                List<UUID> ids = messages.stream().map(OutboxMessage::getId).toList();
+                int updated = outboxRepository.markPublishFailed(
+                        ids, group.claimedVersion(), group.status(), now, group.error());
+                reportStaleWriteBack(ids.size(), updated);
+                if (updated == ids.size()) {
+                    failedWrittenBack.addAll(messages);
+                }
+            });
+        });
+
+        failedWrittenBack.forEach(message -> {
+            if (message.getStatus() == OutboxStatus.FAILED) {
+                failureService.markFailed(message.getMessageKey(), failed.get(message));
+            }
+        });
+    }
+
+    private long claimedVersion(OutboxMessage message) {
+        return message.getVersion() == null ? 0L : message.getVersion();
+    }
+
+    private void reportStaleWriteBack(int expected, int updated) {
+        if (updated < expected) {
+            log.warn("Outbox write-back updated {} of {} messages, the rest were reclaimed by another worker",
+                    updated, expected);
+        }
+    }
+
     private void markPublished(OutboxMessage message) {
-        message.setStatus(OutboxStatus.PUBLISHED);
-        message.setPublishedAt(Instant.now());
-        message.setLastAttemptAt(Instant.now());
-        message.setLastError(null);
+        applyPublished(message, Instant.now());
         outboxRepository.save(message);
     }
 
     private void markPublishFailed(OutboxMessage message, Exception exception) {
-        int attempts = message.getAttempts() + 1;
-        message.setAttempts(attempts);
-        message.setLastAttemptAt(Instant.now());
-        message.setLastError(errorMessage(exception));
-        if (attempts >= maxAttempts) {
-            message.setStatus(OutboxStatus.FAILED);
+        applyPublishFailed(message, exception, Instant.now());
+        if (message.getStatus() == OutboxStatus.FAILED) {
             failureService.markFailed(message.getMessageKey(), exception);
-        } else {
-            message.setStatus(OutboxStatus.PENDING);
         }
         outboxRepository.save(message);
     }
 
+    private void applyPublished(OutboxMessage message, Instant now) {
+        message.setStatus(OutboxStatus.PUBLISHED);
+        message.setPublishedAt(now);
+        message.setLastAttemptAt(now);
+        message.setLastError(null);
+    }
+
+    private void applyPublishFailed(OutboxMessage message, Exception exception, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastAttemptAt(now);
+        message.setLastError(errorMessage(exception));
+        message.setStatus(attempts >= maxAttempts ? OutboxStatus.FAILED : OutboxStatus.PENDING);
+    }
+
     private String errorMessage(Exception exception) {
         Throwable cause = exception.getCause() == null ? exception : exception.getCause();
         return cause.getMessage();
     }
+
+    private record FailureGroup(long claimedVersion, OutboxStatus status, String error) {
+    }
 }
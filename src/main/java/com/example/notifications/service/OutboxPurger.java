@@ -0,0 +1,67 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxPurger {
+
+    static final String PURGED_METRIC = "notifications.outbox.purged";
+    static final String DURATION_METRIC = "notifications.outbox.purge.duration";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPurger.class);
+
+    private final OutboxMessageRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.outbox.purge.retention-hours:72}")
+    private long retentionHours;
+    @Value("${notification.outbox.purge.batch-size:5000}")
+    private int batchSize;
+    @Value("${notification.outbox.purge.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(
+            fixedDelayString = "${notification.outbox.purge.delay-ms:60000}",
+            initialDelayString = "${notification.outbox.initial-delay-ms}"
+    )
+    public void purgePublished() {
+        Instant threshold = Instant.now().minus(retentionHours, ChronoUnit.HOURS);
+        long started = System.nanoTime();
+        long purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(
+                    status -> outboxRepository.purgePublishedBefore(threshold, batchSize));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        Timer.builder(DURATION_METRIC)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (purged > 0) {
+            meterRegistry.counter(PURGED_METRIC).increment(purged);
+            log.info("Purged {} published outbox messages older than {} in {} ms",
+                    purged, threshold, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.PGProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.outbox", name = "relay", havingValue = "polling", matchIfMissing = true)
+@ConditionalOnProperty(prefix = "notification.outbox", name = "listen-enabled", havingValue = "true")
+public class OutboxWakeupListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxWakeupListener.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final OutboxPublisher publisher;
+
+    @Value("${notification.outbox.listen-timeout-ms:500}")
+    private int listenTimeoutMs;
+    @Value("${notification.outbox.listen-reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private ExecutorService wakeUpExecutor;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        wakeUpExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("outbox-wakeup-"));
+        listenerThread = new Thread(this::listen, "outbox-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+        if (wakeUpExecutor != null) {
+            wakeUpExecutor.shutdown();
+            wakeUpExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + OutboxMessageRepository.PENDING_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Listening for outbox notifications on channel {}", OutboxMessageRepository.PENDING_CHANNEL);
+                awaitNotifications(pgConnection);
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Outbox notification listener failed, reconnecting in {} ms: {}",
+                            reconnectDelayMs,
+                            e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void awaitNotifications(PGConnection pgConnection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(listenTimeoutMs);
+            if (notifications != null && notifications.length > 0) {
+                signalPublisher();
+            }
+        }
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(properties, dataSourceProperties.determinePassword());
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void signalPublisher() {
+        ExecutorService executor = wakeUpExecutor;
+        if (executor == null || !wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                try {
+                    publisher.wakeUp();
+                } catch (RuntimeException e) {
+                    log.warn("Outbox wakeup failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            wakeUpPending.set(false);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
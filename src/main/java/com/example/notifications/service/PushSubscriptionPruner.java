@@ -0,0 +1,62 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.PushSubscriptionRepository;
+import com.example.notifications.service.delivery.PushSubscriptionCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PushSubscriptionPruner {
+
+    static final String PRUNED_METRIC = "notifications.push.subscriptions.pruned";
+
+    private static final Logger log = LoggerFactory.getLogger(PushSubscriptionPruner.class);
+
+    private final PushSubscriptionRepository subscriptionRepository;
+    private final PushSubscriptionCache subscriptionCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.push.pruning.stale-days:60}")
+    private long staleDays;
+    @Value("${notification.push.pruning.batch-size:1000}")
+    private int batchSize;
+    @Value("${notification.push.pruning.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(
+            fixedDelayString = "${notification.push.pruning.delay-ms:3600000}",
+            initialDelayString = "${notification.outbox.initial-delay-ms}"
+    )
+    public void pruneStale() {
+        Instant threshold = Instant.now().minus(staleDays, ChronoUnit.DAYS);
+        long pruned = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<String> recipientIds = transactionTemplate.execute(
+                    status -> subscriptionRepository.deactivateStale(threshold, batchSize));
+            if (recipientIds == null || recipientIds.isEmpty()) {
+                break;
+            }
+            subscriptionCache.invalidateAll(recipientIds);
+            pruned += recipientIds.size();
+            if (recipientIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (pruned > 0) {
+            meterRegistry.counter(PRUNED_METRIC).increment(pruned);
+            log.info("Deactivated {} push subscriptions not seen since {}", pruned, threshold);
+        }
+    }
+}
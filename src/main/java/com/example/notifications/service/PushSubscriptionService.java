@@ -4,17 +4,21 @@ import com.example.notifications.dto.PushSubscriptionRequest;
 import com.example.notifications.dto.PushSubscriptionResponse;
 import com.example.notifications.entity.PushSubscription;
 import com.example.notifications.repository.PushSubscriptionRepository;
+import com.example.notifications.service.delivery.PushSubscriptionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class PushSubscriptionService {
 
     private final PushSubscriptionRepository repository;
+    private final PushSubscriptionCache subscriptionCache;
 
     @Transactional
     public PushSubscriptionResponse register(PushSubscriptionRequest request) {
@@ -23,11 +27,15 @@ public class PushSubscriptionService {
         String platform = normalizePlatform(request.getPlatform());
         Instant now = Instant.now();
 
-        PushSubscription subscription = repository.findByFcmToken(token)
-                .map(existing -> updateExisting(existing, recipientId, platform, now))
+        Optional<PushSubscription> existing = repository.findByFcmToken(token);
+        String previousRecipientId = existing.map(PushSubscription::getRecipientId).orElse(null);
+        PushSubscription subscription = existing
+                .map(current -> updateExisting(current, recipientId, platform, now))
                 .orElseGet(() -> createNew(recipientId, token, platform, now));
 
-        return toResponse(repository.save(subscription));
+        PushSubscriptionResponse response = toResponse(repository.save(subscription));
+        subscriptionCache.invalidateAll(Arrays.asList(recipientId, previousRecipientId));
+        return response;
     }
 
     private PushSubscription updateExisting(
@@ -39,6 +47,8 @@ public class PushSubscriptionService {
         subscription.setRecipientId(recipientId);
         subscription.setPlatform(platform);
         subscription.setActive(true);
+        subscription.setFailureCount(0);
+        subscription.setSuppressedUntil(null);
         subscription.setLastSeenAt(now);
         return subscription;
     }
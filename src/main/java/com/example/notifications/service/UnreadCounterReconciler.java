@@ -0,0 +1,66 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.UnreadCounterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UnreadCounterReconciler {
+
+    static final String RECONCILED_METRIC = "notifications.unread.reconciled";
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadCounterReconciler.class);
+
+    private final UnreadCounterRepository counterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.unread.reconcile-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(
+            fixedDelayString = "${notification.unread.reconcile-delay-ms:3600000}",
+            initialDelayString = "${notification.unread.reconcile-initial-delay-ms:60000}"
+    )
+    public void reconcile() {
+        String afterRecipientId = "";
+        int corrected = 0;
+        while (true) {
+            String from = afterRecipientId;
+            Chunk chunk = transactionTemplate.execute(status -> reconcileChunk(from));
+            if (chunk == null || chunk.lastRecipientId() == null) {
+                break;
+            }
+            corrected += chunk.corrected();
+            if (chunk.size() < batchSize) {
+                break;
+            }
+            afterRecipientId = chunk.lastRecipientId();
+        }
+        if (corrected > 0) {
+            meterRegistry.counter(RECONCILED_METRIC).increment(corrected);
+            log.warn("Corrected {} drifted unread counters", corrected);
+        }
+    }
+
+    private Chunk reconcileChunk(String afterRecipientId) {
+        List<String> recipientIds = counterRepository.lockRecipientsAfter(afterRecipientId, batchSize);
+        if (recipientIds.isEmpty()) {
+            return new Chunk(null, 0, 0);
+        }
+        int corrected = counterRepository.reconcile(recipientIds);
+        return new Chunk(recipientIds.get(recipientIds.size() - 1), recipientIds.size(), corrected);
+    }
+
+    private record Chunk(String lastRecipientId, int size, int corrected) {
+    }
+}
@@ -18,15 +18,12 @@ public class ExolveClient {
 
     private static final String SEND_SMS_PATH = "/messaging/v1/SendSMS";
 
-    private final RestClient.Builder restClientBuilder;
+    private final RestClient exolveRestClient;
     private final ExolveProperties properties;
 
     public ExolveSendSmsResponse send(String from, String to, String text) {
         try {
-            ExolveSendSmsResponse response = restClientBuilder.clone()
-                    .baseUrl(properties.getBaseUrl())
-                    .build()
-                    .post()
+            ExolveSendSmsResponse response = exolveRestClient.post()
                     .uri(SEND_SMS_PATH)
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + properties.getApiKey())
                     .contentType(MediaType.APPLICATION_JSON)
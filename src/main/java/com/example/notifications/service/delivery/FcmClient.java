@@ -1,8 +1,15 @@
 package com.example.notifications.service.delivery;
 
+import java.util.List;
 import java.util.Map;
 
 public interface FcmClient {
 
+    int MAX_MULTICAST_TOKENS = 500;
+
     String send(String token, String title, String body, Map<String, String> data);
+
+    List<FcmSendResult> sendMulticast(List<String> tokens, String title, String body, Map<String, String> data);
+
+    List<FcmSendResult> sendEach(List<FcmMessage> messages);
 }
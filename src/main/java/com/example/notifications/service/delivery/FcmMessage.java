@@ -0,0 +1,6 @@
+package com.example.notifications.service.delivery;
+
+import java.util.Map;
+
+public record FcmMessage(String token, String title, String body, Map<String, String> data) {
+}
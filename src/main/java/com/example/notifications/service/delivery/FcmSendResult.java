@@ -0,0 +1,20 @@
+package com.example.notifications.service.delivery;
+
+public record FcmSendResult(String token, String messageId, String error, boolean invalidToken, boolean requestFailed) {
+
+    public static FcmSendResult success(String token, String messageId) {
+        return new FcmSendResult(token, messageId, null, false, false);
+    }
+
+    public static FcmSendResult failure(String token, String error, boolean invalidToken) {
+        return new FcmSendResult(token, null, error, invalidToken, false);
+    }
+
+    public static FcmSendResult requestFailure(String token, String error) {
+        return new FcmSendResult(token, null, error, false, true);
+    }
+
+    public boolean successful() {
+        return error == null;
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.notifications.service.delivery;
 
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RequiredArgsConstructor
@@ -17,10 +22,7 @@ public class FirebaseFcmClient implements FcmClient {
     public String send(String token, String title, String body, Map<String, String> data) {
         Message message = Message.builder()
                 .setToken(token)
-                .setNotification(com.google.firebase.messaging.Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build())
+                .setNotification(notification(title, body))
                 .putAllData(data)
                 .build();
         try {
@@ -34,6 +36,70 @@ public class FirebaseFcmClient implements FcmClient {
         }
     }
 
+    @Override
+    public List<FcmSendResult> sendMulticast(List<String> tokens, String title, String body, Map<String, String> data) {
+        MulticastMessage message = MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .setNotification(notification(title, body))
+                .putAllData(data)
+                .build();
+        try {
+            return results(tokens, firebaseMessaging.sendEachForMulticast(message));
+        } catch (FirebaseMessagingException e) {
+            throw new PushDeliveryException(
+                    "Firebase Cloud Messaging multicast request failed: " + e.getMessagingErrorCode(),
+                    e,
+                    false
+            );
+        }
+    }
+
+    @Override
+    public List<FcmSendResult> sendEach(List<FcmMessage> messages) {
+        List<Message> batch = messages.stream()
+                .map(message -> Message.builder()
+                        .setToken(message.token())
+                        .setNotification(notification(message.title(), message.body()))
+                        .putAllData(message.data())
+                        .build())
+                .toList();
+        try {
+            return results(messages.stream().map(FcmMessage::token).toList(), firebaseMessaging.sendEach(batch));
+        } catch (FirebaseMessagingException e) {
+            throw new PushDeliveryException(
+                    "Firebase Cloud Messaging batch request failed: " + e.getMessagingErrorCode(),
+                    e,
+                    false
+            );
+        }
+    }
+
+    private List<FcmSendResult> results(List<String> tokens, BatchResponse response) {
+        List<SendResponse> responses = response.getResponses();
+        List<FcmSendResult> results = new ArrayList<>(responses.size());
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            if (sendResponse.isSuccessful()) {
+                results.add(FcmSendResult.success(tokens.get(i), sendResponse.getMessageId()));
+            } else {
+                FirebaseMessagingException exception = sendResponse.getException();
+                results.add(FcmSendResult.failure(
+                        tokens.get(i),
+                        "Firebase Cloud Messaging request failed: " + exception.getMessagingErrorCode(),
+                        isInvalidToken(exception)
+                ));
+            }
+        }
+        return results;
+    }
+
+    private com.google.firebase.messaging.Notification notification(String title, String body) {
+        return com.google.firebase.messaging.Notification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .build();
+    }
+
     private boolean isInvalidToken(FirebaseMessagingException exception) {
         return exception.getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED;
     }
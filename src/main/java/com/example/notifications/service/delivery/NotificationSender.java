@@ -1,9 +1,12 @@
 package com.example.notifications.service.delivery;
 
 import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.enums.Channel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationSender {
@@ -19,4 +22,20 @@ public class NotificationSender {
             case PUSH -> pushSender.send(notification);
         }
     }
+
+    public boolean isCoalescing(Channel channel) {
+        return channel == Channel.PUSH && pushSender.isCoalescing();
+    }
+
+    public CompletableFuture<Void> sendAsync(Notification notification) {
+        if (notification.getChannel() == Channel.PUSH) {
+            return pushSender.sendAsync(notification);
+        }
+        try {
+            send(notification);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package com.example.notifications.service.delivery;
+
+import com.example.notifications.config.PushProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class PushCoalescer {
+
+    static final String BATCH_SIZE_METRIC = "notifications.push.coalesced.batch.size";
+
+    private static final Logger log = LoggerFactory.getLogger(PushCoalescer.class);
+
+    private final PushProperties pushProperties;
+    private final ObjectProvider<FcmClient> fcmClientProvider;
+    private final MeterRegistry meterRegistry;
+
+    private final List<PendingMessage> pending = new ArrayList<>();
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> scheduledFlush;
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newScheduledThreadPool(
+                Math.max(1, pushProperties.getCoalescing().getThreads()),
+                new CustomizableThreadFactory("push-coalescer-"));
+        batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+        executor.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return pushProperties.getCoalescing().isEnabled();
+    }
+
+    public CompletableFuture<List<FcmSendResult>> submit(List<FcmMessage> messages) {
+        List<CompletableFuture<FcmSendResult>> results = new ArrayList<>(messages.size());
+        List<List<PendingMessage>> fullBatches = new ArrayList<>();
+        synchronized (pending) {
+            for (FcmMessage message : messages) {
+                CompletableFuture<FcmSendResult> result = new CompletableFuture<>();
+                pending.add(new PendingMessage(message, result));
+                results.add(result);
+            }
+            while (pending.size() >= maxBatchSize()) {
+                fullBatches.add(take(maxBatchSize()));
+            }
+            if (pending.isEmpty()) {
+                cancelScheduledFlush();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = executor.schedule(this::flush,
+                        pushProperties.getCoalescing().getWindowMs(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        fullBatches.forEach(batch -> executor.execute(() -> send(batch)));
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    void flush() {
+        List<List<PendingMessage>> batches = new ArrayList<>();
+        synchronized (pending) {
+            scheduledFlush = null;
+            while (!pending.isEmpty()) {
+                batches.add(take(Math.min(pending.size(), maxBatchSize())));
+            }
+        }
+        batches.forEach(this::send);
+    }
+
+    private void send(List<PendingMessage> batch) {
+        batchSizes.record(batch.size());
+        String failure = null;
+        try {
+            List<FcmSendResult> results = fcmClientProvider.getObject()
+                    .sendEach(batch.stream().map(PendingMessage::message).toList());
+            if (results.size() != batch.size()) {
+                failure = "Firebase Cloud Messaging returned " + results.size() + " results for "
+                        + batch.size() + " messages";
+                log.warn("Coalesced Firebase Cloud Messaging batch failed: {}", failure);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            failure = e.getMessage();
+            log.warn("Coalesced Firebase Cloud Messaging batch of {} messages failed: {}", batch.size(), failure);
+        } finally {
+            String error = failure == null ? "Firebase Cloud Messaging result missing" : failure;
+            batch.forEach(item -> item.result().complete(FcmSendResult.requestFailure(item.message().token(), error)));
+        }
+    }
+
+    private List<PendingMessage> take(int size) {
+        List<PendingMessage> batch = new ArrayList<>(pending.subList(0, size));
+        pending.subList(0, size).clear();
+        return batch;
+    }
+
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    private int maxBatchSize() {
+        return Math.min(Math.max(1, pushProperties.getCoalescing().getMaxBatchSize()), FcmClient.MAX_MULTICAST_TOKENS);
+    }
+
+    private record PendingMessage(FcmMessage message, CompletableFuture<FcmSendResult> result) {
+    }
+}
@@ -2,33 +2,56 @@ package com.example.notifications.service.delivery;
 
 import com.example.notifications.config.PushProperties;
 import com.example.notifications.entity.Notification;
-import com.example.notifications.entity.PushSubscription;
 import com.example.notifications.repository.PushSubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PushSender {
 
+    static final String CALLS_AVOIDED_METRIC = "notifications.push.calls.avoided";
+
     private static final Logger log = LoggerFactory.getLogger(PushSender.class);
 
     private final PushProperties pushProperties;
     private final PushSubscriptionRepository subscriptionRepository;
     private final ObjectProvider<FcmClient> fcmClientProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final PushCoalescer coalescer;
+    private final PushSubscriptionCache subscriptionCache;
+    private final MeterRegistry meterRegistry;
 
     public void send(Notification notification) {
         switch (pushProperties.getProvider()) {
             case SIMULATED -> simulate(notification);
-            case FCM -> sendViaFcm(notification);
+            case FCM, FCM_STUB -> sendViaFcm(notification, resolveRecipientId(notification));
+        }
+    }
+
+    public void send(Notification notification, String recipientId) {
+        switch (pushProperties.getProvider()) {
+            case SIMULATED -> log.info("Simulated PUSH notification delivery {} for {}: {}",
+                    notification.getId(),
+                    recipientId,
+                    notification.getPayload());
+            case FCM, FCM_STUB -> sendViaFcm(notification, recipientId);
         }
     }
 
@@ -36,53 +59,153 @@ public class PushSender {
         log.info("Simulated PUSH notification delivery {}: {}", notification.getId(), notification.getPayload());
     }
 
-    private void sendViaFcm(Notification notification) {
-        String recipientId = resolveRecipientId(notification);
-        List<PushSubscription> subscriptions = subscriptionRepository.findByRecipientIdAndActiveTrue(recipientId);
-        if (subscriptions.isEmpty()) {
-            throw new IllegalArgumentException("No active FCM push subscriptions for recipient " + recipientId);
+    public boolean isCoalescing() {
+        return pushProperties.getProvider() != PushProperties.Provider.SIMULATED && coalescer.isEnabled();
+    }
+
+    public CompletableFuture<Void> sendAsync(Notification notification) {
+        if (!isCoalescing()) {
+            return completed(() -> send(notification));
+        }
+        return coalesce(notification, () -> resolveRecipientId(notification));
+    }
+
+    public CompletableFuture<Void> sendAsync(Notification notification, String recipientId) {
+        if (!isCoalescing()) {
+            return completed(() -> send(notification, recipientId));
         }
+        return coalesce(notification, () -> recipientId);
+    }
 
+    private CompletableFuture<Void> completed(Runnable delivery) {
+        try {
+            delivery.run();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> coalesce(Notification notification, Supplier<String> recipient) {
+        String recipientId;
+        List<PushToken> tokens;
+        try {
+            recipientId = recipient.get();
+            tokens = deliverableTokens(recipientId);
+            requiredFcmClient();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String title = pushProperties.getFcm().getDefaultTitle();
+        Map<String, String> data = data(notification, recipientId);
+        List<FcmMessage> messages = tokens.stream()
+                .map(token -> new FcmMessage(token.token(), title, notification.getPayload(), data))
+                .toList();
+        return coalescer.submit(messages).thenAccept(results ->
+                recordResults(notification, recipientId, tokens, results, new ArrayList<>()));
+    }
+
+    private void sendViaFcm(Notification notification, String recipientId) {
+        List<PushToken> subscriptions = deliverableTokens(recipientId);
+        List<String> tokens = subscriptions.stream().map(PushToken::token).toList();
         FcmClient fcmClient = requiredFcmClient();
-        int sentCount = 0;
+        Map<String, String> data = data(notification, recipientId);
+        List<FcmSendResult> results = new ArrayList<>(tokens.size());
         List<String> errors = new ArrayList<>();
-        for (PushSubscription subscription : subscriptions) {
+        for (int from = 0; from < tokens.size(); from += FcmClient.MAX_MULTICAST_TOKENS) {
+            List<String> chunk = tokens.subList(from, Math.min(from + FcmClient.MAX_MULTICAST_TOKENS, tokens.size()));
             try {
-                String messageId = fcmClient.send(
-                        subscription.getFcmToken(),
-                        pushProperties.getFcm().getDefaultTitle(),
-                        notification.getPayload(),
-                        data(notification)
-                );
-                sentCount++;
-                log.info("Firebase Cloud Messaging accepted push notification {} for {} with message_id {}",
-                        notification.getId(),
-                        recipientId,
-                        messageId);
+                results.addAll(fcmClient.sendMulticast(chunk, pushProperties.getFcm().getDefaultTitle(),
+                        notification.getPayload(), data));
             } catch (PushDeliveryException e) {
-                handleFcmFailure(subscription, errors, e);
+                errors.add(e.getMessage());
+                log.warn("Firebase Cloud Messaging multicast of {} tokens failed for notification {}: {}",
+                        chunk.size(),
+                        notification.getId(),
+                        e.getMessage());
             }
         }
+        recordResults(notification, recipientId, subscriptions, results, errors);
+    }
 
+    private List<PushToken> deliverableTokens(String recipientId) {
+        List<PushToken> tokens = subscriptionCache.activeTokens(recipientId);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("No active FCM push subscriptions for recipient " + recipientId);
+        }
+        Instant now = Instant.now();
+        List<PushToken> deliverable = tokens.stream().filter(token -> !token.suppressedAt(now)).toList();
+        if (deliverable.size() < tokens.size()) {
+            meterRegistry.counter(CALLS_AVOIDED_METRIC, "reason", "suppressed")
+                    .increment(tokens.size() - deliverable.size());
+        }
+        if (deliverable.isEmpty()) {
+            throw new IllegalArgumentException("All FCM push subscriptions for recipient " + recipientId
+                    + " are suppressed after repeated failures");
+        }
+        return deliverable;
+    }
+
+    private void recordResults(
+            Notification notification,
+            String recipientId,
+            List<PushToken> subscriptions,
+            List<FcmSendResult> results,
+            List<String> errors
+    ) {
+        Set<String> failingTokens = subscriptions.stream()
+                .filter(token -> token.failureCount() > 0)
+                .map(PushToken::token)
+                .collect(Collectors.toSet());
+        int sentCount = 0;
+        TokenHealthUpdate health = new TokenHealthUpdate();
+        for (FcmSendResult result : results) {
+            if (result.successful()) {
+                sentCount++;
+                if (failingTokens.contains(result.token())) {
+                    health.recovered.add(result.token());
+                }
+                continue;
+            }
+            errors.add(result.error());
+            if (result.invalidToken()) {
+                health.invalid.add(result.token());
+            } else if (!result.requestFailed()) {
+                health.failed.add(result.token());
+            }
+        }
+
+        updateTokenHealth(recipientId, health);
+        log.info("Firebase Cloud Messaging accepted push notification {} for {} on {} of {} subscriptions",
+                notification.getId(),
+                recipientId,
+                sentCount,
+                subscriptions.size());
         if (sentCount == 0) {
             throw new PushDeliveryException("Firebase Cloud Messaging failed for all subscriptions: "
                     + String.join("; ", errors));
         }
     }
 
-    private void handleFcmFailure(
-            PushSubscription subscription,
-            List<String> errors,
-            PushDeliveryException exception
-    ) {
-        errors.add(exception.getMessage());
-        if (exception.isInvalidToken()) {
-            subscription.setActive(false);
-            subscriptionRepository.save(subscription);
+    private void updateTokenHealth(String recipientId, TokenHealthUpdate health) {
+        if (health.isEmpty()) {
+            return;
+        }
+        PushProperties.TokenHealth settings = pushProperties.getTokenHealth();
+        Instant suppressUntil = Instant.now().plus(Duration.ofMinutes(settings.getSuppressionMinutes()));
+        Integer deactivated = transactionTemplate.execute(status -> {
+            if (!health.failed.isEmpty()) {
+                subscriptionRepository.recordFailures(health.failed, settings.getFailureThreshold(), suppressUntil);
+            }
+            if (!health.recovered.isEmpty()) {
+                subscriptionRepository.resetFailures(health.recovered);
+            }
+            return health.invalid.isEmpty() ? 0 : subscriptionRepository.deactivateByFcmTokens(health.invalid);
+        });
+        subscriptionCache.invalidate(recipientId);
+        if (!health.invalid.isEmpty()) {
+            log.warn("Deactivated {} unregistered FCM push subscriptions for {}", deactivated, recipientId);
         }
-        log.warn("Firebase Cloud Messaging push delivery failed for subscription {}: {}",
-                subscription.getId(),
-                exception.getMessage());
     }
 
     private FcmClient requiredFcmClient() {
@@ -93,11 +216,11 @@ public class PushSender {
         return fcmClient;
     }
 
-    private Map<String, String> data(Notification notification) {
+    private Map<String, String> data(Notification notification, String recipientId) {
         return Map.of(
                 "notificationId", notification.getId().toString(),
                 "channel", notification.getChannel().name(),
-                "recipientId", resolveRecipientId(notification)
+                "recipientId", recipientId
         );
     }
 
@@ -110,4 +233,15 @@ public class PushSender {
         }
         throw new IllegalArgumentException("PUSH recipientId is required for notification " + notification.getId());
     }
+
+    private static final class TokenHealthUpdate {
+
+        private final List<String> invalid = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+        private final List<String> recovered = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return invalid.isEmpty() && failed.isEmpty() && recovered.isEmpty();
+        }
+    }
 }
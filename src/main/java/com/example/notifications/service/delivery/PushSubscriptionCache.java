@@ -0,0 +1,75 @@
+package com.example.notifications.service.delivery;
+
+import com.example.notifications.config.PushProperties;
+import com.example.notifications.repository.PushSubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+@RequiredArgsConstructor
+public class PushSubscriptionCache {
+
+    static final String LOOKUP_METRIC = "notifications.push.subscriptions.cache";
+    static final String SIZE_METRIC = "notifications.push.subscriptions.cache.size";
+
+    private final PushSubscriptionRepository repository;
+    private final PushProperties pushProperties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, List<PushToken>> tokensByRecipient;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        PushProperties.SubscriptionCache settings = pushProperties.getSubscriptionCache();
+        tokensByRecipient = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(settings.getTtlSeconds()))
+                .build();
+        hits = meterRegistry.counter(LOOKUP_METRIC, "result", "hit");
+        misses = meterRegistry.counter(LOOKUP_METRIC, "result", "miss");
+        Gauge.builder(SIZE_METRIC, tokensByRecipient, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public List<PushToken> activeTokens(String recipientId) {
+        List<PushToken> tokens = tokensByRecipient.getIfPresent(recipientId);
+        if (tokens != null) {
+            hits.increment();
+            return tokens;
+        }
+        return tokensByRecipient.get(recipientId, this::load);
+    }
+
+    private List<PushToken> load(String recipientId) {
+        misses.increment();
+        return repository.findByRecipientIdAndActiveTrue(recipientId).stream()
+                .map(subscription -> new PushToken(
+                        subscription.getFcmToken(),
+                        subscription.getFailureCount() == null ? 0 : subscription.getFailureCount(),
+                        subscription.getSuppressedUntil()))
+                .toList();
+    }
+
+    public void invalidate(String recipientId) {
+        if (recipientId != null) {
+            tokensByRecipient.invalidate(recipientId);
+        }
+    }
+
+    public void invalidateAll(Collection<String> recipientIds) {
+        tokensByRecipient.invalidateAll(recipientIds.stream().filter(Objects::nonNull).toList());
+    }
+}
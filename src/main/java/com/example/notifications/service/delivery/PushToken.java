@@ -0,0 +1,10 @@
+package com.example.notifications.service.delivery;
+
+import java.time.Instant;
+
+public record PushToken(String token, int failureCount, Instant suppressedUntil) {
+
+    public boolean suppressedAt(Instant now) {
+        return suppressedUntil != null && suppressedUntil.isAfter(now);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.notifications.service.delivery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StubFcmClient implements FcmClient {
+
+    static final String UNREGISTERED_TOKEN_PREFIX = "unregistered-";
+
+    private final long latencyMs;
+    private final AtomicLong requests = new AtomicLong();
+
+    public StubFcmClient(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String send(String token, String title, String body, Map<String, String> data) {
+        roundTrip();
+        FcmSendResult result = resultFor(token);
+        if (!result.successful()) {
+            throw new PushDeliveryException(result.error(), null, result.invalidToken());
+        }
+        return result.messageId();
+    }
+
+    @Override
+    public List<FcmSendResult> sendMulticast(List<String> tokens, String title, String body, Map<String, String> data) {
+        if (tokens.size() > MAX_MULTICAST_TOKENS) {
+            throw new IllegalArgumentException("Multicast supports at most " + MAX_MULTICAST_TOKENS + " tokens");
+        }
+        roundTrip();
+        return tokens.stream().map(this::resultFor).toList();
+    }
+
+    @Override
+    public List<FcmSendResult> sendEach(List<FcmMessage> messages) {
+        if (messages.size() > MAX_MULTICAST_TOKENS) {
+            throw new IllegalArgumentException("Batch send supports at most " + MAX_MULTICAST_TOKENS + " messages");
+        }
+        roundTrip();
+        return messages.stream().map(message -> resultFor(message.token())).toList();
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    private FcmSendResult resultFor(String token) {
+        if (token.startsWith(UNREGISTERED_TOKEN_PREFIX)) {
+            return FcmSendResult.failure(token, "Firebase Cloud Messaging request failed: UNREGISTERED", true);
+        }
+        return FcmSendResult.success(token, "projects/stub/messages/" + UUID.randomUUID());
+    }
+
+    private void roundTrip() {
+        requests.incrementAndGet();
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PushDeliveryException("Stub Firebase Cloud Messaging request interrupted", e, false);
+        }
+    }
+}
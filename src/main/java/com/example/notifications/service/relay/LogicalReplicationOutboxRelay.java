@@ -0,0 +1,329 @@
+package com.example.notifications.service.relay;
+
+import com.example.notifications.entity.OutboxRelayCheckpoint;
+import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.repository.OutboxRelayCheckpointRepository;
+import com.example.notifications.service.NotificationProcessingFailureService;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.outbox", name = "relay", havingValue = "logical-replication")
+public class LogicalReplicationOutboxRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LogicalReplicationOutboxRelay.class);
+    private static final String OUTBOX_TABLE = "notification_outbox";
+    private static final String OUTPUT_PLUGIN = "pgoutput";
+    private static final Pattern PUBLICATION_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSourceProperties dataSourceProperties;
+    private final OutboxRelayCheckpointRepository checkpointRepository;
+    private final OutboxMessageRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProcessingFailureService failureService;
+
+    @Value("${notification.outbox.replication.slot-name:notification_outbox_relay}")
+    private String slotName;
+    @Value("${notification.outbox.replication.publication-name:notification_outbox_relay}")
+    private String publicationName;
+    @Value("${notification.outbox.replication.status-interval-seconds:10}")
+    private int statusIntervalSeconds;
+    @Value("${notification.outbox.replication.idle-poll-ms:10}")
+    private long idlePollMs;
+    @Value("${notification.outbox.replication.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    @Value("${notification.outbox.batch-size}")
+    private int batchSize;
+    @Value("${notification.outbox.send-timeout-seconds}")
+    private long sendTimeoutSeconds;
+    @Value("${notification.outbox.max-attempts}")
+    private int maxAttempts;
+    @Value("${notification.outbox.replication.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        relayThread = new Thread(this::relay, "outbox-replication-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relay() {
+        while (running) {
+            try (Connection connection = openReplicationConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                ensurePublication(connection);
+                ensureReplicationSlot(pgConnection);
+                try (PGReplicationStream stream = openStream(pgConnection)) {
+                    log.info("Relaying outbox inserts from replication slot {}", slotName);
+                    consume(stream);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Outbox replication relay failed, reconnecting in {} ms: {}",
+                            reconnectDelayMs,
+                            e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties properties = new Properties();
+        PGProperty.USER.set(properties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(properties, dataSourceProperties.determinePassword());
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(properties, "10");
+        PGProperty.REPLICATION.set(properties, "database");
+        PGProperty.PREFER_QUERY_MODE.set(properties, "simple");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void ensurePublication(Connection connection) throws SQLException {
+        if (checkpointRepository.publicationExists(publicationName)) {
+            return;
+        }
+        if (!PUBLICATION_NAME.matcher(publicationName).matches()) {
+            throw new IllegalStateException("Invalid outbox publication name: " + publicationName);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE PUBLICATION " + publicationName
+                    + " FOR TABLE " + OUTBOX_TABLE + " WITH (publish = 'insert')");
+        }
+        log.info("Created publication {} for {}", publicationName, OUTBOX_TABLE);
+    }
+
+    private void ensureReplicationSlot(PGConnection pgConnection) throws SQLException {
+        if (checkpointRepository.replicationSlotExists(slotName)) {
+            return;
+        }
+        pgConnection.getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(slotName)
+                .withOutputPlugin(OUTPUT_PLUGIN)
+                .make();
+        log.info("Created logical replication slot {}", slotName);
+    }
+
+    private PGReplicationStream openStream(PGConnection pgConnection) throws SQLException {
+        LogSequenceNumber startPosition = checkpointRepository.findById(slotName)
+                .map(OutboxRelayCheckpoint::getLsn)
+                .map(LogSequenceNumber::valueOf)
+                .orElse(LogSequenceNumber.INVALID_LSN);
+        return pgConnection.getReplicationAPI()
+                .replicationStream()
+                .logical()
+                .withSlotName(slotName)
+                .withSlotOption("proto_version", 1)
+                .withSlotOption("publication_names", publicationName)
+                .withStartPosition(startPosition)
+                .withStatusInterval(statusIntervalSeconds, TimeUnit.SECONDS)
+                .start();
+    }
+
+    private void consume(PGReplicationStream stream) throws SQLException, InterruptedException {
+        PgOutputDecoder decoder = new PgOutputDecoder();
+        RelayBatch batch = new RelayBatch();
+        while (running) {
+            ByteBuffer message = stream.readPending();
+            if (message == null) {
+                flush(stream, batch);
+                TimeUnit.MILLISECONDS.sleep(idlePollMs);
+                continue;
+            }
+            decoder.decode(message, batch);
+            if (batch.committed.size() >= batchSize) {
+                flush(stream, batch);
+            }
+        }
+    }
+
+    private void flush(PGReplicationStream stream, RelayBatch batch) throws InterruptedException {
+        if (batch.committedLsn == null) {
+            return;
+        }
+        if (!batch.committed.isEmpty()) {
+            RelayOutcome outcome = publish(batch.committed);
+            long lsn = batch.committedLsn.asLong();
+            List<UUID> ids = outcome.published().stream().map(OutboxRecord::id).toList();
+            Instant now = Instant.now();
+            Integer relayed = transactionTemplate.execute(status -> {
+                int updated = ids.isEmpty() ? 0 : outboxRepository.markRelayed(ids, now);
+                outcome.failed().forEach((record, exception) -> outboxRepository.markRelayFailed(
+                        List.of(record.id()), maxAttempts, now, errorMessage(exception)));
+                checkpointRepository.saveCheckpoint(slotName, lsn);
+                return updated;
+            });
+            if (relayed != null && relayed < ids.size()) {
+                log.debug("Relayed {} outbox messages, {} of them were no longer pending", ids.size(), ids.size() - relayed);
+            }
+            outcome.failed().forEach((record, exception) -> failureService.markFailed(record.key(), exception));
+        }
+        stream.setAppliedLSN(batch.committedLsn);
+        stream.setFlushedLSN(batch.committedLsn);
+        batch.committed.clear();
+        batch.committedLsn = null;
+    }
+
+    private RelayOutcome publish(List<OutboxRecord> records) throws InterruptedException {
+        Instant now = Instant.now();
+        List<OutboxRecord> pending = new ArrayList<>();
+        for (OutboxRecord record : records) {
+            if (record.expiresAt() != null && !record.expiresAt().isAfter(now)) {
+                log.debug("Skipping expired outbox message {}, it is left to the expiry sweeper", record.id());
+            } else {
+                pending.add(record);
+            }
+        }
+
+        List<OutboxRecord> published = new ArrayList<>(pending.size());
+        Map<OutboxRecord, Exception> failed = new LinkedHashMap<>();
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            failed = send(pending);
+            for (OutboxRecord record : pending) {
+                if (!failed.containsKey(record)) {
+                    published.add(record);
+                }
+            }
+            if (failed.isEmpty() || attempt >= maxAttempts) {
+                break;
+            }
+            log.warn("Failed to relay {} outbox messages, retrying (attempt {} of {})",
+                    failed.size(), attempt + 1, maxAttempts);
+            pending = new ArrayList<>(failed.keySet());
+            TimeUnit.MILLISECONDS.sleep(retryDelayMs);
+        }
+        if (!failed.isEmpty()) {
+            log.error("Giving up on {} relayed outbox messages after {} attempts", failed.size(), maxAttempts);
+        }
+        return new RelayOutcome(published, failed);
+    }
+
+    private Map<OutboxRecord, Exception> send(List<OutboxRecord> records) throws InterruptedException {
+        Map<OutboxRecord, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxRecord record : records) {
+            try {
+                sends.put(record, kafkaTemplate.send(record.topic(), record.key(), record.payload()));
+            } catch (RuntimeException e) {
+                sends.put(record, CompletableFuture.failedFuture(e));
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        Map<OutboxRecord, Exception> failed = new LinkedHashMap<>();
+        for (Map.Entry<OutboxRecord, CompletableFuture<?>> send : sends.entrySet()) {
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failed.put(send.getKey(), e);
+            }
+        }
+        return failed;
+    }
+
+    private String errorMessage(Exception exception) {
+        Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+        return cause.getMessage();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RelayBatch implements PgOutputDecoder.Handler {
+
+        private final List<OutboxRecord> transaction = new ArrayList<>();
+        private final List<OutboxRecord> committed = new ArrayList<>();
+        private LogSequenceNumber committedLsn;
+
+        @Override
+        public void onBegin() {
+            transaction.clear();
+        }
+
+        @Override
+        public void onInsert(String table, Map<String, String> values) {
+            if (OUTBOX_TABLE.equals(table)) {
+                transaction.add(new OutboxRecord(
+                        UUID.fromString(values.get("id")),
+                        values.get("topic"),
+                        values.get("message_key"),
+                        values.get("payload"),
+                        PgOutputDecoder.parseTimestamp(values.get("expires_at"))));
+            }
+        }
+
+        @Override
+        public void onCommit(long endLsn) {
+            committed.addAll(transaction);
+            transaction.clear();
+            committedLsn = LogSequenceNumber.valueOf(endLsn);
+        }
+    }
+
+    private record OutboxRecord(UUID id, String topic, String key, String payload, Instant expiresAt) {
+    }
+
+    private record RelayOutcome(List<OutboxRecord> published, Map<OutboxRecord, Exception> failed) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.notifications.service.relay;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PgOutputDecoder {
+
+    private static final byte BEGIN = 'B';
+    private static final byte COMMIT = 'C';
+    private static final byte RELATION = 'R';
+    private static final byte INSERT = 'I';
+    private static final byte NEW_TUPLE = 'N';
+    private static final byte NULL_VALUE = 'n';
+    private static final byte UNCHANGED_TOAST_VALUE = 'u';
+    private static final byte TEXT_VALUE = 't';
+    private static final DateTimeFormatter TIMESTAMP_WITH_TIME_ZONE = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd HH:mm:ss")
+            .optionalStart()
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .optionalEnd()
+            .appendOffset("+HH:mm", "+00")
+            .toFormatter();
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    public static Instant parseTimestamp(String value) {
+        return value == null ? null : OffsetDateTime.parse(value, TIMESTAMP_WITH_TIME_ZONE).toInstant();
+    }
+
+    public void decode(ByteBuffer buffer, Handler handler) {
+        byte type = buffer.get();
+        switch (type) {
+            case BEGIN -> handler.onBegin();
+            case COMMIT -> decodeCommit(buffer, handler);
+            case RELATION -> decodeRelation(buffer);
+            case INSERT -> decodeInsert(buffer, handler);
+            default -> {
+            }
+        }
+    }
+
+    private void decodeCommit(ByteBuffer buffer, Handler handler) {
+        buffer.get();
+        buffer.getLong();
+        long endLsn = buffer.getLong();
+        handler.onCommit(endLsn);
+    }
+
+    private void decodeRelation(ByteBuffer buffer) {
+        int relationId = buffer.getInt();
+        String namespace = readString(buffer);
+        String table = readString(buffer);
+        buffer.get();
+        short columnCount = buffer.getShort();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            buffer.get();
+            columns.add(readString(buffer));
+            buffer.getInt();
+            buffer.getInt();
+        }
+        relations.put(relationId, new Relation(namespace, table, columns));
+    }
+
+    private void decodeInsert(ByteBuffer buffer, Handler handler) {
+        int relationId = buffer.getInt();
+        Relation relation = relations.get(relationId);
+        if (relation == null) {
+            throw new IllegalStateException("Insert received for unknown relation " + relationId);
+        }
+        if (buffer.get() != NEW_TUPLE) {
+            throw new IllegalStateException("Insert without new tuple for relation " + relation.table());
+        }
+        handler.onInsert(relation.table(), readTuple(buffer, relation));
+    }
+
+    private Map<String, String> readTuple(ByteBuffer buffer, Relation relation) {
+        short columnCount = buffer.getShort();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            String column = relation.columns().get(i);
+            byte kind = buffer.get();
+            if (kind == TEXT_VALUE) {
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                values.put(column, new String(value, StandardCharsets.UTF_8));
+            } else if (kind == NULL_VALUE || kind == UNCHANGED_TOAST_VALUE) {
+                values.put(column, null);
+            } else {
+                throw new IllegalStateException("Unsupported tuple value kind " + (char) kind);
+            }
+        }
+        return values;
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int end = buffer.position();
+        while (buffer.get(end) != 0) {
+            end++;
+        }
+        byte[] value = new byte[end - buffer.position()];
+        buffer.get(value);
+        buffer.get();
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public interface Handler {
+
+        void onBegin();
+
+        void onInsert(String table, Map<String, String> values);
+
+        void onCommit(long endLsn);
+    }
+
+    private record Relation(String namespace, String table, List<String> columns) {
+    }
+}
@@ -0,0 +1,34 @@
+CREATE TABLE segment_members
+(
+    segment_id   VARCHAR(255)             NOT NULL,
+    recipient_id VARCHAR(255)             NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (segment_id, recipient_id)
+);
+
+CREATE TABLE notification_fanout_jobs
+(
+    id                UUID PRIMARY KEY                  DEFAULT gen_random_uuid(),
+    version           BIGINT                   NOT NULL DEFAULT 0,
+    notification_id   UUID                     NOT NULL REFERENCES notifications (id),
+    audience_type     VARCHAR(20)              NOT NULL,
+    audience_target   VARCHAR(255),
+    status            VARCHAR(20)              NOT NULL DEFAULT 'PENDING',
+    last_recipient_id VARCHAR(255),
+    emitted_count     BIGINT                   NOT NULL DEFAULT 0,
+    lease_owner       VARCHAR(64),
+    lease_until       TIMESTAMP WITH TIME ZONE,
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    completed_at      TIMESTAMP WITH TIME ZONE
+);
+
+CREATE UNIQUE INDEX ux_notification_fanout_jobs_notification_id
+    ON notification_fanout_jobs (notification_id);
+
+CREATE INDEX ix_notification_fanout_jobs_open_created_at
+    ON notification_fanout_jobs (created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+CREATE INDEX ix_push_subscriptions_active_recipient
+    ON push_subscriptions (recipient_id)
+    WHERE active = TRUE;
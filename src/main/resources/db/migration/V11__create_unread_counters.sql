@@ -0,0 +1,14 @@
+CREATE TABLE notification_unread_counters
+(
+    recipient_id VARCHAR(255)             PRIMARY KEY,
+    unread_count BIGINT                   NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+INSERT INTO notification_unread_counters (recipient_id, unread_count)
+SELECT recipient_id, count(*)
+FROM notifications
+WHERE recipient_id IS NOT NULL
+  AND archived = FALSE
+  AND is_read = FALSE
+GROUP BY recipient_id;
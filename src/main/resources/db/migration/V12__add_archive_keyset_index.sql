@@ -0,0 +1,5 @@
+DROP INDEX IF EXISTS ix_notifications_archive_created_at;
+
+CREATE INDEX ix_notifications_unarchived_created_at_id
+    ON notifications (created_at, id)
+    WHERE archived = FALSE;
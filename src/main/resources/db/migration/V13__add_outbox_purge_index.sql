@@ -0,0 +1,3 @@
+CREATE INDEX ix_notification_outbox_published_at
+    ON notification_outbox (published_at)
+    WHERE status = 'PUBLISHED';
@@ -0,0 +1,7 @@
+ALTER TABLE push_subscriptions
+    ADD COLUMN failure_count    INTEGER                  NOT NULL DEFAULT 0,
+    ADD COLUMN suppressed_until TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX ix_push_subscriptions_active_last_seen_at
+    ON push_subscriptions (last_seen_at)
+    WHERE active = TRUE;
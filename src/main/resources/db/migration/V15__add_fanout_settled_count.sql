@@ -0,0 +1,2 @@
+ALTER TABLE notification_fanout_jobs
+    ADD COLUMN settled_count BIGINT NOT NULL DEFAULT 0;
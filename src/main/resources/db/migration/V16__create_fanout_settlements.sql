@@ -0,0 +1,6 @@
+CREATE TABLE notification_fanout_settlements
+(
+    notification_id UUID         NOT NULL REFERENCES notifications (id),
+    recipient_id    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (notification_id, recipient_id)
+);
@@ -0,0 +1,6 @@
+CREATE TABLE outbox_relay_checkpoint
+(
+    slot_name  VARCHAR(63)              PRIMARY KEY,
+    lsn        BIGINT                   NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
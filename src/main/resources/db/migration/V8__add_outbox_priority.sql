@@ -0,0 +1,18 @@
+ALTER TABLE notification_outbox
+    ADD COLUMN priority SMALLINT NOT NULL DEFAULT 1;
+
+UPDATE notification_outbox o
+SET priority = CASE n.priority
+                   WHEN 'LOW' THEN 0
+                   WHEN 'NORMAL' THEN 1
+                   WHEN 'HIGH' THEN 2
+                   WHEN 'URGENT' THEN 3
+               END
+FROM notifications n
+WHERE n.id = o.notification_id
+  AND o.status IN ('PENDING', 'PROCESSING')
+  AND n.priority <> 'NORMAL';
+
+CREATE INDEX ix_notification_outbox_pending_priority_created_at
+    ON notification_outbox (priority DESC, created_at)
+    WHERE status = 'PENDING';
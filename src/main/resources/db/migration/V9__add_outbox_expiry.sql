@@ -0,0 +1,13 @@
+ALTER TABLE notification_outbox
+    ADD COLUMN expires_at TIMESTAMP WITH TIME ZONE;
+
+UPDATE notification_outbox o
+SET expires_at = n.expires_at
+FROM notifications n
+WHERE n.id = o.notification_id
+  AND o.status = 'PENDING'
+  AND n.expires_at IS NOT NULL;
+
+CREATE INDEX ix_notification_outbox_pending_expires_at
+    ON notification_outbox (expires_at)
+    WHERE status = 'PENDING' AND expires_at IS NOT NULL;
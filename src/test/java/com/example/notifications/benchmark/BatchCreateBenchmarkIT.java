@@ -0,0 +1,129 @@
+package com.example.notifications.benchmark;
+
+import com.example.notifications.dto.NotificationBatchItemResponse;
+import com.example.notifications.dto.NotificationBatchItemStatus;
+import com.example.notifications.dto.NotificationBatchRequest;
+import com.example.notifications.dto.NotificationRequest;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration, org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "notification.outbox.publish-delay-ms=600000",
+        "notification.outbox.listen-enabled=false"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BatchCreateBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchCreateBenchmarkIT.class);
+    private static final int REQUESTS = 2000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static ConfluentKafkaContainer kafka = new ConfluentKafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @MockitoBean
+    private RedisTemplate<?, ?> redisTemplate;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Test
+    void createThroughput_ShouldReportSingleAndBatchThroughput() {
+        warmUp();
+
+        List<NotificationRequest> singleRequests = requests("single");
+        long singleStarted = System.nanoTime();
+        singleRequests.forEach(notificationService::createNotifications);
+        long singleMs = (System.nanoTime() - singleStarted) / 1_000_000;
+
+        List<NotificationRequest> batchRequests = requests("batch");
+        long batchStarted = System.nanoTime();
+        for (int from = 0; from < REQUESTS; from += BATCH_SIZE) {
+            List<NotificationBatchItemResponse> results = notificationService.createNotificationsBatch(
+                    batchRequests.subList(from, Math.min(from + BATCH_SIZE, REQUESTS)));
+            assertThat(results).allMatch(item -> item.getStatus() == NotificationBatchItemStatus.CREATED);
+        }
+        long batchMs = (System.nanoTime() - batchStarted) / 1_000_000;
+
+        log.info("Created {} requests x 2 channels one by one in {} ms ({} req/s)",
+                REQUESTS, singleMs, REQUESTS * 1000L / Math.max(1, singleMs));
+        log.info("Created {} requests x 2 channels in batches of {} in {} ms ({} req/s)",
+                REQUESTS, BATCH_SIZE, batchMs, REQUESTS * 1000L / Math.max(1, batchMs));
+        assertThat(notificationRepository.findByIdempotencyKeyIn(
+                batchRequests.stream().map(NotificationRequest::getIdempotencyKey).toList()))
+                .hasSize(REQUESTS * 2);
+    }
+
+    @Test
+    void createBatch_ShouldReplayExistingKeysWithoutInserting() {
+        List<NotificationRequest> requests = requests("replay").subList(0, 10);
+        notificationService.createNotificationsBatch(requests);
+
+        List<NotificationBatchItemResponse> replayed = notificationService.createNotificationsBatch(requests);
+
+        assertThat(replayed).allMatch(item -> item.getStatus() == NotificationBatchItemStatus.EXISTING);
+        assertThat(notificationRepository.findByIdempotencyKeyIn(
+                requests.stream().map(NotificationRequest::getIdempotencyKey).toList()))
+                .hasSize(20);
+    }
+
+    private void warmUp() {
+        List<NotificationRequest> warmUp = requests("warm-up").subList(0, 100);
+        warmUp.subList(0, 50).forEach(notificationService::createNotifications);
+        notificationService.createNotificationsBatch(warmUp.subList(50, 100));
+    }
+
+    private List<NotificationRequest> requests(String run) {
+        String prefix = run + "-" + UUID.randomUUID() + "-";
+        return IntStream.range(0, Math.min(REQUESTS, NotificationBatchRequest.MAX_SIZE))
+                .mapToObj(i -> NotificationRequest.builder()
+                        .recipientId("user-" + i + "@example.com")
+                        .payload("batch benchmark " + i)
+                        .channels(List.of(Channel.EMAIL, Channel.SMS))
+                        .idempotencyKey(prefix + i)
+                        .build())
+                .toList();
+    }
+}
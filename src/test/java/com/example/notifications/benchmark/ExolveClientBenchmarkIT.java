@@ -0,0 +1,128 @@
+package com.example.notifications.benchmark;
+
+import com.example.notifications.config.ExolveClientConfig;
+import com.example.notifications.config.ExolveProperties;
+import com.example.notifications.service.delivery.ExolveClient;
+import com.example.notifications.service.delivery.ExolveSendSmsResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExolveClientBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(ExolveClientBenchmarkIT.class);
+    private static final int WARM_UP_REQUESTS = 500;
+    private static final int MEASURED_REQUESTS = 2000;
+    private static final int ROUNDS = 3;
+    private static final byte[] RESPONSE = """
+            {
+              "message_id": "439166538239448536",
+              "template_resource_id": 136519
+            }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    private HttpServer server;
+    private ExolveProperties properties;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/messaging/v1/SendSMS", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            handled.incrementAndGet();
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new ExolveProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setApiKey("api-key");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (requestFactory != null) {
+            requestFactory.destroy();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void send_ShouldReportPerCallAndPooledClientLatencyAndAllocation() {
+        RestClient.Builder builder = RestClient.builder();
+        ExolveClientConfig config = new ExolveClientConfig(properties);
+        requestFactory = config.exolveRequestFactory();
+        ExolveClient pooled = new ExolveClient(config.exolveRestClient(builder, requestFactory), properties);
+        Supplier<ExolveClient> perCall = () -> new ExolveClient(
+                builder.clone().baseUrl(properties.getBaseUrl()).build(), properties);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            Result perCallResult = measure(perCall);
+            Result pooledResult = measure(() -> pooled);
+            log.info("Round {}: client per call p50={} us, p99={} us, {} KB allocated/request",
+                    round, perCallResult.p50Micros(), perCallResult.p99Micros(), perCallResult.allocatedKb());
+            log.info("Round {}: pooled client p50={} us, p99={} us, {} KB allocated/request",
+                    round, pooledResult.p50Micros(), pooledResult.p99Micros(), pooledResult.allocatedKb());
+        }
+
+        assertThat(handled.get()).isEqualTo(ROUNDS * 2 * (WARM_UP_REQUESTS + MEASURED_REQUESTS));
+    }
+
+    private Result measure(Supplier<ExolveClient> client) {
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            send(client.get());
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        List<Long> latencies = new ArrayList<>(MEASURED_REQUESTS);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long started = System.nanoTime();
+            send(client.get());
+            latencies.add((System.nanoTime() - started) / 1_000);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        latencies.sort(Long::compare);
+        return new Result(percentile(latencies, 50), percentile(latencies, 99), allocated / MEASURED_REQUESTS / 1024);
+    }
+
+    private void send(ExolveClient client) {
+        ExolveSendSmsResponse response = client.send("79991112233", "79992223344", "Benchmark message");
+        assertThat(response.getMessageId()).isEqualTo("439166538239448536");
+    }
+
+    private long percentile(List<Long> sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(0, index));
+    }
+
+    private record Result(long p50Micros, long p99Micros, long allocatedKb) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.notifications.benchmark;
+
+import com.example.notifications.config.NotificationResponseRedisSerializer;
+import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.NotificationPriority;
+import com.example.notifications.entity.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCacheSerializerBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCacheSerializerBenchmarkIT.class);
+    private static final int WARM_UP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 500_000;
+
+    private long blackhole;
+
+    @Test
+    void cacheSerializer_ShouldReportBinaryAndJsonSizeAndSpeed() {
+        NotificationResponse response = response();
+        GenericJackson2JsonRedisSerializer json = jsonSerializer();
+        NotificationResponseRedisSerializer binary = new NotificationResponseRedisSerializer(json, new SimpleMeterRegistry());
+
+        Result jsonResult = measure(json, response);
+        Result binaryResult = measure(binary, response);
+
+        log.info("JSON with default typing: {} bytes, encode {} ns/op, decode {} ns/op",
+                jsonResult.size(), jsonResult.encodeNanos(), jsonResult.decodeNanos());
+        log.info("Binary v1: {} bytes, encode {} ns/op, decode {} ns/op",
+                binaryResult.size(), binaryResult.encodeNanos(), binaryResult.decodeNanos());
+        assertThat(binaryResult.size()).isLessThan(jsonResult.size());
+        assertThat(blackhole).isNotZero();
+    }
+
+    private Result measure(RedisSerializer<Object> serializer, NotificationResponse response) {
+        byte[] encoded = serializer.serialize(response);
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            blackhole += serializer.serialize(response).length;
+            blackhole += serializer.deserialize(encoded).hashCode();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            blackhole += serializer.serialize(response).length;
+        }
+        long encodeNanos = (System.nanoTime() - started) / MEASURED_ITERATIONS;
+
+        started = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            blackhole += serializer.deserialize(encoded).hashCode();
+        }
+        long decodeNanos = (System.nanoTime() - started) / MEASURED_ITERATIONS;
+        return new Result(encoded.length, encodeNanos, decodeNanos);
+    }
+
+    private GenericJackson2JsonRedisSerializer jsonSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new Jdk8Module());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(mapper)
+                .defaultTyping(true)
+                .build();
+    }
+
+    private NotificationResponse response() {
+        return NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .recipientId("grinya")
+                .audienceType(AudienceType.PERSONAL)
+                .audienceTarget("grinya")
+                .destination("notificationservicedemo@yandex.ru")
+                .channel(Channel.EMAIL)
+                .payload("Тестовое уведомление")
+                .priority(NotificationPriority.NORMAL)
+                .deliveryStatus(Status.SENT)
+                .createdAt(Instant.now())
+                .sentAt(Instant.now())
+                .idempotencyKey(UUID.randomUUID().toString())
+                .isRead(false)
+                .archived(false)
+                .build();
+    }
+
+    private record Result(int size, long encodeNanos, long decodeNanos) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.notifications.benchmark;
+
+import com.example.notifications.dto.NotificationRequest;
+import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.Status;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.NotificationService;
+import com.example.notifications.service.OutboxWakeupListener;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration, org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "notification.outbox.listen-enabled=true"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OutboxLatencyBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxLatencyBenchmarkIT.class);
+    private static final int SAMPLES = 30;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static ConfluentKafkaContainer kafka = new ConfluentKafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private OutboxWakeupListener wakeupListener;
+
+    @MockitoBean
+    private RedisTemplate<?, ?> redisTemplate;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Test
+    void deliveryLatency_ShouldReportPollingAndListenNotifyPercentiles() {
+        wakeupListener.stop();
+        List<Long> polling = measureLatencies("polling");
+
+        wakeupListener.start();
+        List<Long> listenNotify = measureLatencies("listen");
+
+        log.info("End-to-end delivery latency, polling only: p50={} ms, p95={} ms, p99={} ms",
+                percentile(polling, 50), percentile(polling, 95), percentile(polling, 99));
+        log.info("End-to-end delivery latency, LISTEN/NOTIFY: p50={} ms, p95={} ms, p99={} ms",
+                percentile(listenNotify, 50), percentile(listenNotify, 95), percentile(listenNotify, 99));
+        assertThat(polling).hasSize(SAMPLES);
+        assertThat(listenNotify).hasSize(SAMPLES);
+    }
+
+    private List<Long> measureLatencies(String run) {
+        List<Long> latencies = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            pauseRandomly();
+            long started = System.nanoTime();
+            NotificationResponse created = notificationService.createNotifications(NotificationRequest.builder()
+                    .recipientId("latency@example.com")
+                    .payload("latency")
+                    .channels(List.of(Channel.EMAIL))
+                    .idempotencyKey("latency-" + run + "-" + UUID.randomUUID())
+                    .build()).get(0);
+            await().atMost(Duration.ofSeconds(10))
+                    .pollInterval(Duration.ofMillis(5))
+                    .until(() -> notificationRepository.findById(created.getId()).orElseThrow().getStatus()
+                            == Status.SENT);
+            latencies.add((System.nanoTime() - started) / 1_000_000);
+        }
+        latencies.sort(Long::compare);
+        return latencies;
+    }
+
+    private long percentile(List<Long> sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(0, index));
+    }
+
+    private void pauseRandomly() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(50, 250));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
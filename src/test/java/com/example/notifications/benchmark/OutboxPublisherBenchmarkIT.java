@@ -0,0 +1,127 @@
+package com.example.notifications.benchmark;
+
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.OutboxMessage;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.OutboxStatus;
+import com.example.notifications.entity.enums.Status;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.service.OutboxPublisher;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration, org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "notification.outbox.initial-delay-ms=3600000",
+        "notification.outbox.batch-size=500",
+        "notification.outbox.workers=1"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OutboxPublisherBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisherBenchmarkIT.class);
+    private static final int MESSAGES = 2000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static ConfluentKafkaContainer kafka = new ConfluentKafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    @Autowired
+    private OutboxPublisher publisher;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @MockitoBean
+    private RedisTemplate<?, ?> redisTemplate;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Test
+    void publishPending_ShouldReportSequentialAndPipelinedThroughput() {
+        double sequential = measureThroughput(false);
+        double pipelined = measureThroughput(true);
+
+        log.info("Outbox publish throughput for {} messages: sequential {} msg/s, pipelined {} msg/s",
+                MESSAGES,
+                String.format("%.0f", sequential),
+                String.format("%.0f", pipelined));
+        assertThat(outboxRepository.countByStatus(OutboxStatus.PUBLISHED)).isEqualTo(2L * MESSAGES);
+    }
+
+    private double measureThroughput(boolean pipelined) {
+        ReflectionTestUtils.setField(publisher, "pipelined", pipelined);
+        enqueue(MESSAGES);
+
+        long started = System.nanoTime();
+        while (outboxRepository.countByStatus(OutboxStatus.PENDING) > 0) {
+            publisher.publishPending();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        assertThat(outboxRepository.countByStatus(OutboxStatus.PROCESSING)).isZero();
+        return MESSAGES / elapsedSeconds;
+    }
+
+    private void enqueue(int count) {
+        String run = UUID.randomUUID().toString();
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            notifications.add(Notification.builder()
+                    .recipientId("benchmark@example.com")
+                    .audienceTarget("benchmark@example.com")
+                    .destination("benchmark@example.com")
+                    .channel(Channel.EMAIL)
+                    .payload("benchmark")
+                    .status(Status.PENDING)
+                    .idempotencyKey("benchmark-" + run + "-" + i)
+                    .build());
+        }
+        List<OutboxMessage> messages = notificationRepository.saveAll(notifications).stream()
+                .map(notification -> OutboxMessage.builder()
+                        .notificationId(notification.getId())
+                        .topic("notifications.email")
+                        .messageKey(notification.getId().toString())
+                        .payload(notification.getPayload())
+                        .status(OutboxStatus.PENDING)
+                        .build())
+                .toList();
+        outboxRepository.saveAll(messages);
+    }
+}
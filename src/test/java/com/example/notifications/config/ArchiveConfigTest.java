@@ -1,38 +1,136 @@
 package com.example.notifications.config;
 
+import com.example.notifications.repository.NotificationArchiveRepository.ArchiveChunk;
 import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.NotificationCacheEvictor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ArchiveConfigTest {
 
     @Mock
     private NotificationRepository repository;
+    @Mock
+    private NotificationCacheEvictor cacheEvictor;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ArchiveConfig archiveConfig;
+
+    @BeforeEach
+    void setUp() {
+        archiveConfig = new ArchiveConfig(repository, cacheEvictor, transactionTemplate);
+        ReflectionTestUtils.setField(archiveConfig, "chunkPauseMs", 0L);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
 
     @Test
     void archiveOldNotifications_ShouldArchiveNotificationsOlderThanRetention() {
-        ArchiveConfig archiveConfig = new ArchiveConfig(repository);
         ReflectionTestUtils.setField(archiveConfig, "retentionDays", 7L);
         Instant earliestExpected = Instant.now().minus(7, ChronoUnit.DAYS).minusSeconds(1);
+        when(repository.archiveChunk(any(), any(), any(), eq(1000))).thenReturn(Optional.empty());
 
         archiveConfig.archiveOldNotifications();
 
         ArgumentCaptor<Instant> thresholdCaptor = ArgumentCaptor.forClass(Instant.class);
-        verify(repository).archiveCreatedBefore(thresholdCaptor.capture());
+        verify(repository).archiveChunk(thresholdCaptor.capture(), eq(Instant.EPOCH), eq(new UUID(0L, 0L)), eq(1000));
         Instant latestExpected = Instant.now().minus(7, ChronoUnit.DAYS).plusSeconds(1);
         assertThat(thresholdCaptor.getValue())
                 .isAfterOrEqualTo(earliestExpected)
                 .isBeforeOrEqualTo(latestExpected);
+        verify(cacheEvictor, never()).evictAllFeeds();
+    }
+
+    @Test
+    void archiveOldNotifications_ShouldContinueFromLastArchivedPositionUntilEmptyChunk() {
+        ReflectionTestUtils.setField(archiveConfig, "chunkSize", 2);
+        Instant lastCreatedAt = Instant.parse("2026-01-01T10:00:00Z");
+        UUID lastId = UUID.randomUUID();
+        Instant shortChunkCreatedAt = lastCreatedAt.plusSeconds(1);
+        UUID shortChunkId = UUID.randomUUID();
+        when(repository.archiveChunk(any(), any(), any(), eq(2))).thenReturn(Optional.empty());
+        when(repository.archiveChunk(any(), eq(Instant.EPOCH), any(), eq(2)))
+                .thenReturn(Optional.of(new ArchiveChunk(2, lastCreatedAt, lastId)), Optional.empty());
+        when(repository.archiveChunk(any(), eq(lastCreatedAt), eq(lastId), eq(2)))
+                .thenReturn(Optional.of(new ArchiveChunk(1, shortChunkCreatedAt, shortChunkId)));
+
+        archiveConfig.archiveOldNotifications();
+
+        verify(repository).archiveChunk(any(), eq(lastCreatedAt), eq(lastId), eq(2));
+        verify(repository).archiveChunk(any(), eq(shortChunkCreatedAt), eq(shortChunkId), eq(2));
+        verify(cacheEvictor).evictAllFeeds();
+    }
+
+    @Test
+    void archiveOldNotifications_ShouldSweepAgainForRowsSkippedWhileLocked() {
+        ReflectionTestUtils.setField(archiveConfig, "chunkSize", 2);
+        Instant lastCreatedAt = Instant.parse("2026-01-01T10:00:00Z");
+        Instant skippedCreatedAt = Instant.parse("2025-12-31T10:00:00Z");
+        UUID lastId = UUID.randomUUID();
+        UUID skippedId = UUID.randomUUID();
+        when(repository.archiveChunk(any(), any(), any(), eq(2))).thenReturn(Optional.empty());
+        when(repository.archiveChunk(any(), eq(Instant.EPOCH), any(), eq(2))).thenReturn(
+                Optional.of(new ArchiveChunk(1, lastCreatedAt, lastId)),
+                Optional.of(new ArchiveChunk(1, skippedCreatedAt, skippedId)));
+
+        archiveConfig.archiveOldNotifications();
+
+        verify(repository, times(2)).archiveChunk(any(), eq(Instant.EPOCH), any(), eq(2));
+        verify(repository).archiveChunk(any(), eq(skippedCreatedAt), eq(skippedId), eq(2));
+        verify(cacheEvictor).evictAllFeeds();
+    }
+
+    @Test
+    void archiveOldNotifications_ShouldArchiveOnItsOwnThreadAndSkipOverlappingRuns() throws Exception {
+        CountDownLatch archiving = new CountDownLatch(1);
+        CountDownLatch releaseArchive = new CountDownLatch(1);
+        AtomicReference<String> archiveThread = new AtomicReference<>();
+        when(repository.archiveChunk(any(), any(), any(), eq(1000))).thenAnswer(invocation -> {
+            archiveThread.set(Thread.currentThread().getName());
+            archiving.countDown();
+            releaseArchive.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+
+        archiveConfig.startExecutor();
+        try {
+            archiveConfig.archiveOldNotifications();
+            assertThat(archiving.await(5, TimeUnit.SECONDS)).isTrue();
+            archiveConfig.archiveOldNotifications();
+            releaseArchive.countDown();
+        } finally {
+            releaseArchive.countDown();
+            archiveConfig.stopExecutor();
+        }
+
+        assertThat(archiveThread.get()).startsWith("notification-archive-");
+        verify(repository, times(1)).archiveChunk(any(), any(), any(), eq(1000));
     }
 }
@@ -0,0 +1,116 @@
+package com.example.notifications.config;
+
+import com.example.notifications.dto.NotificationFeedResponse;
+import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.NotificationPriority;
+import com.example.notifications.entity.enums.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationResponseRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer legacySerializer = legacySerializer();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationResponseRedisSerializer serializer =
+            new NotificationResponseRedisSerializer(legacySerializer, meterRegistry);
+
+    @Test
+    void serialize_ShouldRoundTripNotificationResponseInBinaryFormat() {
+        NotificationResponse response = response();
+
+        byte[] bytes = serializer.serialize(response);
+
+        assertThat(bytes[0]).isEqualTo(NotificationResponseRedisSerializer.MAGIC);
+        assertThat(bytes.length).isLessThan(legacySerializer.serialize(response).length / 2);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(response);
+    }
+
+    @Test
+    void serialize_ShouldKeepNullFields() {
+        NotificationResponse response = NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .channel(Channel.PUSH)
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(response))).isEqualTo(response);
+    }
+
+    @Test
+    void deserialize_ShouldReadEntriesWrittenByJsonSerializer() {
+        NotificationResponse response = response();
+
+        assertThat(serializer.deserialize(legacySerializer.serialize(response))).isEqualTo(response);
+    }
+
+    @Test
+    void serialize_ShouldDelegateOtherValuesToJsonSerializer() {
+        Map<String, String> value = new HashMap<>(Map.of("key", "value"));
+
+        assertThat(serializer.deserialize(serializer.serialize(value))).isEqualTo(value);
+    }
+
+    @Test
+    void serialize_ShouldRoundTripCachedFeedPageThroughJsonSerializer() {
+        NotificationFeedResponse feed = NotificationFeedResponse.builder()
+                .items(new ArrayList<>(List.of(response())))
+                .nextCursor("cursor")
+                .hasNext(true)
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(feed))).isEqualTo(feed);
+    }
+
+    @Test
+    void deserialize_ShouldTreatUnknownFormatVersionAsCacheMiss() {
+        byte[] bytes = serializer.serialize(response());
+        bytes[1] = 99;
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+        assertThat(meterRegistry.counter(NotificationResponseRedisSerializer.UNKNOWN_VERSION_METRIC).count())
+                .isEqualTo(1.0);
+    }
+
+    private NotificationResponse response() {
+        return NotificationResponse.builder()
+                .id(UUID.randomUUID())
+                .recipientId("grinya")
+                .audienceType(AudienceType.PERSONAL)
+                .audienceTarget("grinya")
+                .destination("notificationservicedemo@yandex.ru")
+                .channel(Channel.EMAIL)
+                .payload("Тестовое уведомление")
+                .priority(NotificationPriority.HIGH)
+                .deliveryStatus(Status.SENT)
+                .createdAt(Instant.parse("2026-01-01T10:00:00.123456Z"))
+                .sentAt(Instant.parse("2026-01-01T10:00:01Z"))
+                .idempotencyKey("4bd32bf3-841f-441f-9bbd-83b99427c2d4")
+                .isRead(false)
+                .archived(false)
+                .build();
+    }
+
+    private GenericJackson2JsonRedisSerializer legacySerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return GenericJackson2JsonRedisSerializer.builder()
+                .objectMapper(mapper)
+                .defaultTyping(true)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.notifications.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrentMapCacheManager remote;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager("notification");
+        cacheManager = new TwoTierCacheManager(remote, redisTemplate, meterRegistry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ShouldPromoteRemoteHitToLocalTierAndCountPerTier() {
+        remote.getCache("notification").put("id-1", "value");
+        Cache cache = cacheManager.getCache("notification");
+
+        assertThat(cache.get("id-1", String.class)).isEqualTo("value");
+        remote.getCache("notification").evict("id-1");
+        assertThat(cache.get("id-1", String.class)).isEqualTo("value");
+        assertThat(cache.get("id-2")).isNull();
+
+        assertThat(count("local", "hit")).isEqualTo(1.0);
+        assertThat(count("local", "miss")).isEqualTo(2.0);
+        assertThat(count("redis", "hit")).isEqualTo(1.0);
+        assertThat(count("redis", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_ShouldWriteBothTiersAndInvalidateOtherNodes() {
+        Cache cache = cacheManager.getCache("notification");
+
+        cache.put("id-1", "value");
+
+        assertThat(remote.getCache("notification").get("id-1", String.class)).isEqualTo("value");
+        assertThat(cache.get("id-1", String.class)).isEqualTo("value");
+        assertThat(count("local", "hit")).isEqualTo(1.0);
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), endsWith("|notification|id-1"));
+    }
+
+    @Test
+    void evict_ShouldClearBothTiersAndPublishInvalidation() {
+        Cache cache = cacheManager.getCache("notification");
+        cache.put("id-1", "value");
+
+        cache.evict("id-1");
+
+        assertThat(cache.get("id-1")).isNull();
+        assertThat(remote.getCache("notification").get("id-1")).isNull();
+        verify(redisTemplate, times(2)).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), endsWith("|notification|id-1"));
+    }
+
+    @Test
+    void evictAll_ShouldClearKeysInBothTiersWithSingleInvalidation() {
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("notification");
+        cache.put("id-1", "value");
+        cache.put("id-2", "value");
+        cache.put("id-3", "value");
+
+        cache.evictAll(List.of("id-1", "id-2"));
+
+        assertThat(cache.get("id-1")).isNull();
+        assertThat(cache.get("id-2")).isNull();
+        assertThat(cache.get("id-3", String.class)).isEqualTo("value");
+        assertThat(remote.getCache("notification").get("id-1")).isNull();
+        verify(redisTemplate, times(1))
+                .convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), endsWith("|notification|id-1\nid-2"));
+    }
+
+    @Test
+    void onMessage_ShouldEvictLocalEntryInvalidatedByAnotherNode() {
+        Cache cache = cacheManager.getCache("notification");
+        cache.put("id-1", "value");
+        remote.getCache("notification").evict("id-1");
+
+        cacheManager.onMessage(message("other-node|notification|id-1"), null);
+
+        assertThat(cache.get("id-1")).isNull();
+    }
+
+    @Test
+    void onMessage_ShouldEvictEveryKeyOfBulkInvalidation() {
+        Cache cache = cacheManager.getCache("notification");
+        cache.put("id-1", "value");
+        cache.put("id-2", "value");
+        remote.getCache("notification").clear();
+
+        cacheManager.onMessage(message("other-node|notification|id-1\nid-2"), null);
+
+        assertThat(cache.get("id-1")).isNull();
+        assertThat(cache.get("id-2")).isNull();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(
+                TwoTierCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.counter(TwoTierCache.REQUESTS_METRIC,
+                "cache", "notification", "tier", tier, "result", result).count();
+    }
+}
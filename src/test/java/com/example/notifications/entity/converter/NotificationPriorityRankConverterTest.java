@@ -0,0 +1,29 @@
+package com.example.notifications.entity.converter;
+
+import com.example.notifications.entity.enums.NotificationPriority;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationPriorityRankConverterTest {
+
+    private final NotificationPriorityRankConverter converter = new NotificationPriorityRankConverter();
+
+    @Test
+    void convertToDatabaseColumn_ShouldStoreFixedRanksOrderedByUrgency() {
+        assertThat(converter.convertToDatabaseColumn(NotificationPriority.LOW)).isEqualTo((short) 0);
+        assertThat(converter.convertToDatabaseColumn(NotificationPriority.NORMAL)).isEqualTo((short) 1);
+        assertThat(converter.convertToDatabaseColumn(NotificationPriority.HIGH)).isEqualTo((short) 2);
+        assertThat(converter.convertToDatabaseColumn(NotificationPriority.URGENT)).isEqualTo((short) 3);
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReadRanksBackAndRejectUnknownOnes() {
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            assertThat(converter.convertToEntityAttribute(priority.getRank())).isEqualTo(priority);
+        }
+        assertThatThrownBy(() -> converter.convertToEntityAttribute((short) 42))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
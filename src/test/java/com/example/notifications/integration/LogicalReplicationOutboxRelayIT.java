@@ -0,0 +1,93 @@
+package com.example.notifications.integration;
+
+import com.example.notifications.dto.NotificationRequest;
+import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.Status;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.repository.OutboxRelayCheckpointRepository;
+import com.example.notifications.service.NotificationService;
+import com.example.notifications.service.OutboxPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.kafka.ConfluentKafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration, org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+        "notification.outbox.relay=logical-replication",
+        "notification.outbox.listen-enabled=false"
+})
+@ActiveProfiles("test")
+@Testcontainers
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class LogicalReplicationOutboxRelayIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "wal_level=logical");
+
+    @Container
+    static ConfluentKafkaContainer kafka = new ConfluentKafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.5.0"));
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private OutboxRelayCheckpointRepository checkpointRepository;
+
+    @MockitoBean
+    private RedisTemplate<?, ?> redisTemplate;
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Test
+    void relay_ShouldPublishOutboxInsertsAndStoreCheckpoint() {
+        assertThat(applicationContext.getBeansOfType(OutboxPublisher.class)).isEmpty();
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> checkpointRepository.replicationSlotExists("notification_outbox_relay"));
+        assertThat(checkpointRepository.publicationExists("notification_outbox_relay")).isTrue();
+
+        NotificationResponse created = notificationService.createNotifications(NotificationRequest.builder()
+                .recipientId("relay@example.com")
+                .payload("Relayed through logical replication")
+                .channels(List.of(Channel.EMAIL))
+                .idempotencyKey("relay-e2e")
+                .build()).get(0);
+
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> notificationRepository.findById(created.getId()).orElseThrow().getStatus()
+                        == Status.SENT);
+        assertThat(checkpointRepository.findById("notification_outbox_relay"))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getLsn()).isPositive());
+    }
+}
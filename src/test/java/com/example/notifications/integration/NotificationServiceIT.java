@@ -1,12 +1,17 @@
 package com.example.notifications.integration;
 
 import com.example.notifications.dto.ApiErrorResponse;
+import com.example.notifications.dto.NotificationReadRequest;
+import com.example.notifications.dto.NotificationReadResponse;
 import com.example.notifications.dto.NotificationRequest;
 import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.dto.UnreadCountResponse;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
+import com.example.notifications.repository.NotificationArchiveRepository.ArchiveChunk;
 import com.example.notifications.repository.NotificationRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -33,6 +38,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -59,6 +65,8 @@ class NotificationServiceIT {
     private TestRestTemplate restTemplate;
     @Autowired
     private NotificationRepository notificationRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @MockitoBean
     private RedisTemplate<?, ?> redisTemplate;
@@ -116,6 +124,73 @@ class NotificationServiceIT {
         assertThat(response.getBody().getMessage()).contains(id.toString());
     }
 
+    @Test
+    void unreadCount_ShouldFollowCreateAndReadFlagChanges() {
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId("unread@example.com")
+                .payload("Unread counter")
+                .channels(List.of(Channel.EMAIL, Channel.SMS))
+                .idempotencyKey("integration-unread-count")
+                .build();
+        NotificationResponse[] created = restTemplate.postForEntity(
+                "/api/notifications", new HttpEntity<>(request), NotificationResponse[].class).getBody();
+        assertThat(created).hasSize(2);
+        assertThat(unreadCount("unread@example.com")).isEqualTo(2);
+
+        restTemplate.exchange("/api/notifications/{id}/read", HttpMethod.PATCH, HttpEntity.EMPTY, Void.class,
+                created[0].getId());
+        restTemplate.exchange("/api/notifications/{id}/read", HttpMethod.PATCH, HttpEntity.EMPTY, Void.class,
+                created[0].getId());
+        assertThat(unreadCount("unread@example.com")).isEqualTo(1);
+
+        restTemplate.exchange("/api/notifications/{id}/unread", HttpMethod.PATCH, HttpEntity.EMPTY, Void.class,
+                created[0].getId());
+        assertThat(unreadCount("unread@example.com")).isEqualTo(2);
+    }
+
+    @Test
+    void markReadInBulk_ShouldUpdateOnlyUnreadRowsAndCounters() {
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId("bulk-read@example.com")
+                .payload("Bulk read")
+                .channels(List.of(Channel.EMAIL, Channel.SMS, Channel.PUSH))
+                .idempotencyKey("integration-bulk-read")
+                .build();
+        NotificationResponse[] created = restTemplate.postForEntity(
+                "/api/notifications", new HttpEntity<>(request), NotificationResponse[].class).getBody();
+        assertThat(created).hasSize(3);
+
+        NotificationReadRequest readRequest = NotificationReadRequest.builder()
+                .ids(List.of(created[0].getId(), created[1].getId()))
+                .build();
+        ResponseEntity<NotificationReadResponse> first = restTemplate.exchange("/api/notifications/read",
+                HttpMethod.PATCH, new HttpEntity<>(readRequest), NotificationReadResponse.class);
+        ResponseEntity<NotificationReadResponse> repeated = restTemplate.exchange("/api/notifications/read",
+                HttpMethod.PATCH, new HttpEntity<>(readRequest), NotificationReadResponse.class);
+
+        assertThat(first.getBody()).isNotNull();
+        assertThat(first.getBody().getUpdated()).isEqualTo(2);
+        assertThat(repeated.getBody()).isNotNull();
+        assertThat(repeated.getBody().getUpdated()).isZero();
+        assertThat(notificationRepository.findById(created[0].getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(unreadCount("bulk-read@example.com")).isEqualTo(1);
+
+        ResponseEntity<NotificationReadResponse> all = restTemplate.exchange(
+                "/api/notifications/read-all?recipientId={recipientId}", HttpMethod.PATCH, HttpEntity.EMPTY,
+                NotificationReadResponse.class, "bulk-read@example.com");
+
+        assertThat(all.getBody()).isNotNull();
+        assertThat(all.getBody().getUpdated()).isEqualTo(1);
+        assertThat(unreadCount("bulk-read@example.com")).isZero();
+    }
+
+    private long unreadCount(String recipientId) {
+        UnreadCountResponse response = restTemplate.getForObject(
+                "/api/notifications/unread-count?recipientId={recipientId}", UnreadCountResponse.class, recipientId);
+        assertThat(response).isNotNull();
+        return response.getUnreadCount();
+    }
+
     @Test
     void getAll_ShouldRejectInvalidPagination() {
         ResponseEntity<ApiErrorResponse> response = restTemplate.getForEntity(
@@ -129,7 +204,7 @@ class NotificationServiceIT {
 
     @Test
     @Transactional
-    void archiveCreatedBefore_ShouldArchiveOnlyOldActiveNotifications() {
+    void archiveChunk_ShouldArchiveOnlyOldActiveNotificationsAfterPosition() {
         Instant now = Instant.now();
         Notification oldNotification = notificationRepository.save(Notification.builder()
                 .recipientId("old@example.com")
@@ -163,9 +238,17 @@ class NotificationServiceIT {
                 .archived(true)
                 .build());
 
-        int archivedCount = notificationRepository.archiveCreatedBefore(now.minus(30, ChronoUnit.DAYS));
+        notificationRepository.flush();
+
+        Optional<ArchiveChunk> chunk = notificationRepository.archiveChunk(
+                now.minus(30, ChronoUnit.DAYS), Instant.EPOCH, new UUID(0L, 0L), 100);
+        entityManager.clear();
 
-        assertThat(archivedCount).isEqualTo(1);
+        assertThat(chunk).isPresent();
+        assertThat(chunk.get().archived()).isEqualTo(1);
+        assertThat(chunk.get().lastId()).isEqualTo(oldNotification.getId());
+        assertThat(notificationRepository.archiveChunk(now.minus(30, ChronoUnit.DAYS),
+                chunk.get().lastCreatedAt(), chunk.get().lastId(), 100)).isEmpty();
         assertThat(notificationRepository.findById(oldNotification.getId()).orElseThrow().getArchived()).isTrue();
         assertThat(notificationRepository.findById(recentNotification.getId()).orElseThrow().getArchived()).isFalse();
         assertThat(notificationRepository.findById(alreadyArchived.getId()).orElseThrow().getArchived()).isTrue();
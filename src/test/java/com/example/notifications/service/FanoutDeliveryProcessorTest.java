@@ -0,0 +1,82 @@
+package com.example.notifications.service;
+
+import com.example.notifications.config.KafkaConsumerProperties;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.repository.NotificationRepository;
+import com.example.notifications.service.delivery.PushDeliveryException;
+import com.example.notifications.service.delivery.PushSender;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FanoutDeliveryProcessorTest {
+
+    private static final String TOPIC = "notifications.push.fanout";
+
+    @Mock
+    private NotificationRepository repository;
+    @Mock
+    private PushSender pushSender;
+    @Mock
+    private NotificationFanoutService fanoutService;
+    @Spy
+    private KafkaConsumerProperties consumerProperties = new KafkaConsumerProperties();
+    @InjectMocks
+    private FanoutDeliveryProcessor processor;
+
+    @Test
+    void processBatch_ShouldReportLowestFailedRecordAndNotResendDeliveredRecordsOnRetry() {
+        Notification notification = notification();
+        List<ConsumerRecord<String, String>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 10L, "user-1", notification.getId().toString()),
+                new ConsumerRecord<>(TOPIC, 0, 11L, "user-2", notification.getId().toString())
+        );
+        when(pushSender.isCoalescing()).thenReturn(true);
+        when(repository.findAllById(any())).thenReturn(List.of(notification));
+        when(pushSender.sendAsync(notification, "user-1")).thenReturn(
+                CompletableFuture.failedFuture(new PushDeliveryException("quota exceeded")),
+                CompletableFuture.completedFuture(null));
+        when(pushSender.sendAsync(notification, "user-2")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> processor.processBatch(records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isZero());
+
+        processor.processBatch(records);
+
+        verify(pushSender, times(2)).sendAsync(notification, "user-1");
+        verify(pushSender, times(1)).sendAsync(notification, "user-2");
+        verify(fanoutService).recordSettled(Map.of());
+        verify(fanoutService).recordSettled(Map.of(notification.getId(), Set.of("user-1", "user-2")));
+    }
+
+    private Notification notification() {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .channel(Channel.PUSH)
+                .audienceType(AudienceType.BROADCAST)
+                .payload("payload")
+                .build();
+    }
+}
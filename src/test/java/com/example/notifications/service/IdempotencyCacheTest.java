@@ -0,0 +1,93 @@
+package com.example.notifications.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyCacheTest {
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "localMaxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    void find_ShouldAnswerFromLocalTierAndExposeHitRatio() {
+        UUID id = UUID.randomUUID();
+        cache.put("key-1", "fingerprint", List.of(id));
+
+        assertThat(cache.find("key-1")).contains(new IdempotencyCache.Entry("fingerprint", List.of(id)));
+        assertThat(cache.find("key-2")).isEmpty();
+
+        assertThat(meterRegistry.counter(IdempotencyCache.LOOKUP_METRIC, "result", "local").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter(IdempotencyCache.LOOKUP_METRIC, "result", "miss").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(IdempotencyCache.HIT_RATIO_METRIC).gauge().value()).isEqualTo(0.5);
+        verify(redisTemplateProvider, never()).getIfAvailable();
+    }
+
+    @Test
+    void find_ShouldFallBackToRedisTierAndPromoteEntryLocally() {
+        ReflectionTestUtils.setField(cache, "redisEnabled", true);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("notification:idempotency:key-1")).thenReturn("abc:" + first + "," + second);
+
+        assertThat(cache.find("key-1")).contains(new IdempotencyCache.Entry("abc", List.of(first, second)));
+        assertThat(cache.find("key-1")).isPresent();
+
+        verify(valueOperations, times(1)).get(anyString());
+        assertThat(meterRegistry.counter(IdempotencyCache.LOOKUP_METRIC, "result", "redis").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter(IdempotencyCache.LOOKUP_METRIC, "result", "local").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_ShouldWriteRedisTierWithTtl() {
+        ReflectionTestUtils.setField(cache, "redisEnabled", true);
+        UUID id = UUID.randomUUID();
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        cache.put("key-1", "abc", List.of(id));
+
+        verify(valueOperations).set(eq("notification:idempotency:key-1"), eq("abc:" + id), any(Duration.class));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.notifications.service;
+
+import com.example.notifications.controller.NotificationController;
+import com.example.notifications.dto.InboxEvent;
+import com.example.notifications.dto.InboxEventType;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.enums.Channel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class InboxStreamServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private NotificationService notificationService;
+
+    private InboxStreamService inboxStream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        inboxStream = new InboxStreamService(redisTemplateProvider, objectMapper, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(inboxStream, "timeoutMs", 60_000L);
+        inboxStream.init();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new NotificationController(notificationService, inboxStream))
+                .build();
+    }
+
+    @Test
+    void publish_ShouldStreamEventToLocalSubscriberWhenRedisIsDisabled() throws Exception {
+        MvcResult stream = subscribe("user-1");
+        Notification notification = notification("user-1");
+
+        inboxStream.publish(InboxEventType.CREATED, List.of(notification, notification("user-2")));
+
+        assertThat(stream.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .contains("event:CREATED")
+                .contains("id:" + notification.getId())
+                .doesNotContain("user-2");
+        verify(redisTemplateProvider, never()).getIfAvailable();
+    }
+
+    @Test
+    void publish_ShouldRelayBatchThroughRedisAsSingleMessage() {
+        ReflectionTestUtils.setField(inboxStream, "redisEnabled", true);
+        when(redisTemplateProvider.getIfAvailable()).thenReturn(redisTemplate);
+        Notification first = notification("user-1");
+        Notification second = notification("user-2");
+
+        inboxStream.publish(InboxEventType.SENT, List.of(first, second, notification(null)));
+
+        verify(redisTemplate).convertAndSend(eq(InboxStreamService.EVENTS_CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_ShouldDeliverEventsRelayedByAnotherNode() throws Exception {
+        MvcResult stream = subscribe("user-1");
+        InboxEvent event = InboxEvent.builder()
+                .type(InboxEventType.SENT)
+                .notificationId(UUID.randomUUID())
+                .recipientId("user-1")
+                .channel(Channel.EMAIL)
+                .occurredAt(Instant.now())
+                .build();
+
+        inboxStream.onMessage(new DefaultMessage(
+                InboxStreamService.EVENTS_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(List.of(event))), null);
+
+        assertThat(stream.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .contains("event:SENT")
+                .contains("id:" + event.getNotificationId());
+    }
+
+    @Test
+    void subscribe_ShouldForgetConnectionWhenStreamCompletes() throws Exception {
+        MvcResult stream = subscribe("user-1");
+        assertThat(inboxStream.connectionCount()).isEqualTo(1);
+
+        stream.getRequest().getAsyncContext().complete();
+
+        assertThat(inboxStream.connectionCount()).isZero();
+    }
+
+    private MvcResult subscribe(String recipientId) throws Exception {
+        return mockMvc.perform(get("/api/notifications/stream").param("recipientId", recipientId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private Notification notification(String recipientId) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .recipientId(recipientId)
+                .channel(Channel.EMAIL)
+                .payload("payload")
+                .build();
+    }
+}
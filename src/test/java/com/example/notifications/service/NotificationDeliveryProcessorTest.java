@@ -1,23 +1,47 @@
 package com.example.notifications.service;
 
+import com.example.notifications.config.KafkaConsumerProperties;
+import com.example.notifications.dto.InboxEventType;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
 import com.example.notifications.repository.NotificationRepository;
 import com.example.notifications.service.delivery.NotificationSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,47 +52,224 @@ class NotificationDeliveryProcessorTest {
     private NotificationRepository repository;
     @Mock
     private NotificationSender sender;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private NotificationCacheEvictor cacheEvictor;
+    @Mock
+    private InboxStreamService inboxStream;
+    @Spy
+    private KafkaConsumerProperties consumerProperties = new KafkaConsumerProperties();
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private NotificationDeliveryProcessor processor;
 
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            Consumer<Object> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().when(repository.markSent(anyCollection(), any(Instant.class)))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+    }
+
     @Test
-    void process_ShouldMarkPendingNotificationAsSent() {
-        UUID id = UUID.randomUUID();
-        Notification notification = notification(id, Status.PENDING);
-        when(repository.findById(id)).thenReturn(Optional.of(notification));
+    void processBatch_ShouldLoadOnceAndMarkPendingNotificationsSentInSingleUpdate() {
+        Notification first = notification(UUID.randomUUID(), Status.PENDING);
+        Notification second = notification(UUID.randomUUID(), Status.PENDING);
+        when(repository.findAllById(any())).thenReturn(List.of(first, second));
 
-        processor.process(Channel.EMAIL, id.toString(), "payload");
+        processor.processBatch(Channel.EMAIL, List.of(record(first.getId()), record(second.getId())));
 
-        assertThat(notification.getStatus()).isEqualTo(Status.SENT);
-        assertThat(notification.getSentAt()).isNotNull();
-        verify(sender).send(notification);
-        verify(repository).save(notification);
+        verify(repository).findAllById(any());
+        verify(sender).send(first);
+        verify(sender).send(second);
+        verify(repository).markSent(eq(List.of(first.getId(), second.getId())), any(Instant.class));
+        verify(cacheEvictor).evict(anyCollection());
+        verify(inboxStream).publish(InboxEventType.SENT, List.of(first, second));
     }
 
     @Test
-    void process_ShouldSkipAlreadySentDuplicateMessage() {
-        UUID id = UUID.randomUUID();
-        Notification notification = notification(id, Status.SENT);
+    void processBatch_ShouldPublishSentOnlyForRowsTheUpdateChanged() {
+        Notification sent = notification(UUID.randomUUID(), Status.PENDING);
+        Notification expiredMeanwhile = notification(UUID.randomUUID(), Status.PENDING);
+        when(repository.findAllById(any())).thenReturn(List.of(sent, expiredMeanwhile));
+        when(repository.markSent(eq(List.of(sent.getId(), expiredMeanwhile.getId())), any(Instant.class)))
+                .thenReturn(List.of(sent.getId()));
+
+        processor.processBatch(Channel.EMAIL, List.of(record(sent.getId()), record(expiredMeanwhile.getId())));
+
+        verify(cacheEvictor).evict(List.of(sent.getId()));
+        verify(inboxStream).publish(InboxEventType.SENT, List.of(sent));
+    }
+
+    @Test
+    void processBatch_ShouldPersistSentStatusInSubBatchesDuringLongPoll() {
+        consumerProperties.settingsFor(Channel.EMAIL).setSentFlushSize(2);
+        Notification first = notification(UUID.randomUUID(), Status.PENDING);
+        Notification second = notification(UUID.randomUUID(), Status.PENDING);
+        Notification third = notification(UUID.randomUUID(), Status.PENDING);
+        when(repository.findAllById(any())).thenReturn(List.of(first, second, third));
+
+        processor.processBatch(Channel.EMAIL,
+                List.of(record(first.getId()), record(second.getId()), record(third.getId())));
+
+        InOrder inOrder = inOrder(repository, sender);
+        inOrder.verify(repository).markSent(eq(List.of(first.getId(), second.getId())), any(Instant.class));
+        inOrder.verify(sender).send(third);
+        inOrder.verify(repository).markSent(eq(List.of(third.getId())), any(Instant.class));
+        verify(inboxStream).publish(InboxEventType.SENT, List.of(first, second));
+        verify(inboxStream).publish(InboxEventType.SENT, List.of(third));
+    }
+
+    @Test
+    void processBatch_ShouldSkipAlreadySentDuplicateMessage() {
+        Notification notification = notification(UUID.randomUUID(), Status.SENT);
         notification.setSentAt(Instant.now());
-        when(repository.findById(id)).thenReturn(Optional.of(notification));
+        when(repository.findAllById(any())).thenReturn(List.of(notification));
 
-        processor.process(Channel.EMAIL, id.toString(), "payload");
+        processor.processBatch(Channel.EMAIL, List.of(record(notification.getId())));
 
-        verify(repository, never()).save(notification);
         verify(sender, never()).send(notification);
+        verify(repository, never()).markSent(anyCollection(), any());
     }
 
     @Test
-    void process_ShouldRejectMessageFromWrongChannel() {
-        UUID id = UUID.randomUUID();
-        Notification notification = notification(id, Status.PENDING);
-        when(repository.findById(id)).thenReturn(Optional.of(notification));
-
-        assertThatThrownBy(() -> processor.process(Channel.SMS, id.toString(), "payload"))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining(id.toString());
-        verify(sender, never()).send(notification);
-        verify(repository, never()).save(notification);
+    void processBatch_ShouldDropExpiredNotificationWithoutCallingProvider() {
+        Notification expired = notification(UUID.randomUUID(), Status.PENDING);
+        expired.setExpiresAt(Instant.now().minusSeconds(60));
+        Notification fresh = notification(UUID.randomUUID(), Status.PENDING);
+        fresh.setExpiresAt(Instant.now().plusSeconds(3600));
+        when(repository.findAllById(any())).thenReturn(List.of(expired, fresh));
+
+        processor.processBatch(Channel.EMAIL, List.of(record(expired.getId()), record(fresh.getId())));
+
+        verify(sender, never()).send(expired);
+        verify(sender).send(fresh);
+        verify(repository).markExpired(List.of(expired.getId()));
+        verify(repository).markSent(eq(List.of(fresh.getId())), any(Instant.class));
+        assertThat(meterRegistry.counter("notifications.expired", "stage", "consumer", "channel", "EMAIL").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void processBatch_ShouldPersistEarlierDeliveriesAndReportFailedRecordIndex() {
+        Notification delivered = notification(UUID.randomUUID(), Status.PENDING);
+        Notification wrongChannel = notification(UUID.randomUUID(), Status.PENDING);
+        Notification notReached = notification(UUID.randomUUID(), Status.PENDING);
+        when(repository.findAllById(any())).thenReturn(List.of(delivered, wrongChannel, notReached));
+
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(delivered.getId()), record(wrongChannel.getId()), record(notReached.getId()));
+        wrongChannel.setChannel(Channel.SMS);
+
+        assertThatThrownBy(() -> processor.processBatch(Channel.EMAIL, records))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, exception -> {
+                    assertThat(exception.getIndex()).isEqualTo(1);
+                    assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class);
+                });
+        verify(repository, times(1)).markSent(eq(List.of(delivered.getId())), any(Instant.class));
+        verify(sender, never()).send(wrongChannel);
+        verify(sender, never()).send(notReached);
+    }
+
+    @Test
+    void processBatch_ShouldReportRecordWithNonUuidKey() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("notifications.email", 0, 0L, "not-a-uuid", "payload");
+
+        assertThatThrownBy(() -> processor.processBatch(Channel.EMAIL, List.of(record)))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        exception -> assertThat(exception.getIndex()).isZero());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void processBatch_ShouldDeliverKeysInParallelAndReportLowestFailedIndex() {
+        consumerProperties.settingsFor(Channel.EMAIL).setKeyParallelism(4);
+        processor.startKeyExecutors();
+        Notification first = notification(UUID.randomUUID(), Status.PENDING);
+        Notification wrongPayload = notification(UUID.randomUUID(), Status.PENDING);
+        Notification third = notification(UUID.randomUUID(), Status.PENDING);
+        wrongPayload.setPayload("other");
+        when(repository.findAllById(any())).thenReturn(List.of(first, wrongPayload, third));
+
+        try {
+            assertThatThrownBy(() -> processor.processBatch(Channel.EMAIL, List.of(
+                    record(first.getId()), record(wrongPayload.getId()), record(third.getId()))))
+                    .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                            exception -> assertThat(exception.getIndex()).isEqualTo(1));
+        } finally {
+            processor.stopKeyExecutors();
+        }
+        verify(repository).markSent(
+                argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(first.getId(), third.getId()))),
+                any(Instant.class));
+    }
+
+    @Test
+    void processBatch_ShouldCancelKeyGroupThatOutlivesDeliveryTimeout() throws Exception {
+        consumerProperties.settingsFor(Channel.EMAIL).setKeyParallelism(2);
+        consumerProperties.setDeliveryTimeoutMs(100);
+        processor.startKeyExecutors();
+        Notification blocked = notification(UUID.randomUUID(), Status.PENDING);
+        Notification delivered = notification(UUID.randomUUID(), Status.PENDING);
+        when(repository.findAllById(any())).thenReturn(List.of(blocked, delivered));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        lenient().doAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException("provider call interrupted", e);
+            }
+            return null;
+        }).when(sender).send(blocked);
+
+        try {
+            assertThatThrownBy(() -> processor.processBatch(Channel.EMAIL, List.of(
+                    record(blocked.getId()), record(delivered.getId()))))
+                    .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                            exception -> assertThat(exception.getIndex()).isZero());
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            processor.stopKeyExecutors();
+        }
+        verify(repository).markSent(eq(List.of(delivered.getId())), any(Instant.class));
+        verify(repository, never()).markSent(argThat(ids -> ids.contains(blocked.getId())), any(Instant.class));
+    }
+
+    @Test
+    void processBatch_ShouldSubmitPushDeliveriesTogetherAndRecordOutcomePerNotification() {
+        Notification delivered = notification(UUID.randomUUID(), Status.PENDING);
+        Notification failed = notification(UUID.randomUUID(), Status.PENDING);
+        Notification alsoDelivered = notification(UUID.randomUUID(), Status.PENDING);
+        List.of(delivered, failed, alsoDelivered).forEach(notification -> notification.setChannel(Channel.PUSH));
+        when(repository.findAllById(any())).thenReturn(List.of(delivered, failed, alsoDelivered));
+        when(sender.isCoalescing(Channel.PUSH)).thenReturn(true);
+        when(sender.sendAsync(delivered)).thenReturn(CompletableFuture.completedFuture(null));
+        when(sender.sendAsync(failed)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("fcm down")));
+        when(sender.sendAsync(alsoDelivered)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> processor.processBatch(Channel.PUSH, List.of(
+                record(delivered.getId()), record(failed.getId()), record(alsoDelivered.getId()))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, exception -> {
+                    assertThat(exception.getIndex()).isEqualTo(1);
+                    assertThat(exception.getCause()).hasMessage("fcm down");
+                });
+        verify(sender, never()).send(any());
+        verify(repository).markSent(eq(List.of(delivered.getId(), alsoDelivered.getId())), any(Instant.class));
+        assertThat(failed.getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    private ConsumerRecord<String, String> record(UUID id) {
+        return new ConsumerRecord<>("notifications.email", 0, 0L, id.toString(), "payload");
     }
 
     private Notification notification(UUID id, Status status) {
@@ -0,0 +1,290 @@
+package com.example.notifications.service;
+
+import com.example.notifications.config.KafkaTopicProperties;
+import com.example.notifications.entity.FanoutJob;
+import com.example.notifications.entity.Notification;
+import com.example.notifications.entity.enums.AudienceType;
+import com.example.notifications.entity.enums.Channel;
+import com.example.notifications.entity.enums.FanoutStatus;
+import com.example.notifications.repository.FanoutJobRepository;
+import com.example.notifications.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationFanoutServiceTest {
+
+    private static final String FANOUT_TOPIC = "notifications.push.fanout";
+
+    @Mock
+    private FanoutJobRepository jobRepository;
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+    @Mock
+    private KafkaTopicProperties topicProperties;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private NotificationCacheEvictor cacheEvictor;
+    @InjectMocks
+    private NotificationFanoutService fanoutService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(fanoutService, "chunkSize", 2);
+        ReflectionTestUtils.setField(fanoutService, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(fanoutService, "sendTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(fanoutService, "workers", 2);
+        fanoutService.startWorkers();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().doAnswer(invocation -> {
+            Consumer<Object> callback = invocation.getArgument(0);
+            callback.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jobRepository.save(any(FanoutJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(topicProperties.getPushFanout()).thenReturn(FANOUT_TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanoutService.stopWorkers();
+    }
+
+    @Test
+    void runPendingJobs_ShouldEmitRecipientsChunkByChunkAndCheckpointEachChunk() {
+        FanoutJob job = job(AudienceType.BROADCAST, null, null);
+        Notification notification = notification(job.getNotificationId());
+        when(jobRepository.findClaimableForUpdate(any(Instant.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(notificationRepository.findById(job.getNotificationId())).thenReturn(Optional.of(notification));
+        when(jobRepository.findBroadcastRecipientsAfter("", 2)).thenReturn(List.of("user-1", "user-2"));
+        when(jobRepository.findBroadcastRecipientsAfter("user-2", 2)).thenReturn(List.of("user-3"));
+        when(jobRepository.findBroadcastRecipientsAfter("user-3", 2)).thenReturn(List.of());
+        when(kafkaTemplate.send(eq(FANOUT_TOPIC), anyString(), eq(job.getNotificationId().toString())))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(jobRepository.saveCheckpoint(eq(job.getId()), anyString(), anyString(), any(Long.class), any()))
+                .thenReturn(1);
+        when(jobRepository.finish(eq(job.getId()), anyString(), eq(FanoutStatus.COMPLETED), any())).thenReturn(1);
+
+        fanoutService.runPendingJobs();
+        awaitWorkers();
+
+        verify(kafkaTemplate).send(FANOUT_TOPIC, "user-1", job.getNotificationId().toString());
+        verify(kafkaTemplate).send(FANOUT_TOPIC, "user-2", job.getNotificationId().toString());
+        verify(kafkaTemplate).send(FANOUT_TOPIC, "user-3", job.getNotificationId().toString());
+        verify(jobRepository).saveCheckpoint(eq(job.getId()), anyString(), eq("user-2"), eq(2L), any());
+        verify(jobRepository).saveCheckpoint(eq(job.getId()), anyString(), eq("user-3"), eq(1L), any());
+        verify(notificationRepository).markFanoutSent(eq(List.of(job.getNotificationId())), any(Instant.class));
+    }
+
+    @Test
+    void runPendingJobs_ShouldResumeSegmentFanoutAfterCheckpoint() {
+        FanoutJob job = job(AudienceType.SEGMENT, "premium-users", "user-5");
+        when(jobRepository.findClaimableForUpdate(any(Instant.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(notificationRepository.findById(job.getNotificationId()))
+                .thenReturn(Optional.of(notification(job.getNotificationId())));
+        when(jobRepository.findSegmentRecipientsAfter("premium-users", "user-5", 2)).thenReturn(List.of());
+        when(jobRepository.finish(eq(job.getId()), anyString(), eq(FanoutStatus.COMPLETED), any())).thenReturn(1);
+
+        fanoutService.runPendingJobs();
+        awaitWorkers();
+
+        verify(jobRepository, never()).findBroadcastRecipientsAfter(anyString(), any(Integer.class));
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(notificationRepository).markFanoutSent(eq(List.of(job.getNotificationId())), any(Instant.class));
+    }
+
+    @Test
+    void runPendingJobs_ShouldGuardEachClaimWithItsOwnLeaseToken() {
+        FanoutJob first = job(AudienceType.SEGMENT, "premium-users", null);
+        FanoutJob reclaimed = job(AudienceType.SEGMENT, "premium-users", null);
+        reclaimed.setId(first.getId());
+        reclaimed.setNotificationId(first.getNotificationId());
+        when(jobRepository.findClaimableForUpdate(any(Instant.class)))
+                .thenReturn(Optional.of(first), Optional.of(reclaimed), Optional.empty());
+        when(notificationRepository.findById(first.getNotificationId()))
+                .thenReturn(Optional.of(notification(first.getNotificationId())));
+        when(jobRepository.findSegmentRecipientsAfter("premium-users", "", 2)).thenReturn(List.of());
+        when(jobRepository.finish(eq(first.getId()), anyString(), eq(FanoutStatus.COMPLETED), any())).thenReturn(1);
+
+        fanoutService.runPendingJobs();
+        awaitWorkers();
+
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        verify(jobRepository, times(2)).finish(eq(first.getId()), owners.capture(), any(), any());
+        assertThat(owners.getAllValues()).containsExactly(first.getLeaseOwner(), reclaimed.getLeaseOwner());
+        assertThat(first.getLeaseOwner()).isNotEqualTo(reclaimed.getLeaseOwner());
+    }
+
+    @Test
+    void recordSettled_ShouldCountSettledChildrenAndCompleteParentOnlyWhenAllAreSettled() {
+        UUID notificationId = UUID.randomUUID();
+        when(notificationRepository.markFanoutSent(eq(Set.of(notificationId)), any(Instant.class)))
+                .thenReturn(List.of(notificationId));
+
+        fanoutService.recordSettled(Map.of(notificationId, Set.of("user-1", "user-2", "user-3")));
+
+        verify(jobRepository).addSettled(notificationId, Set.of("user-1", "user-2", "user-3"));
+        verify(jobRepository).deleteSettledRecipients(List.of(notificationId));
+        verify(cacheEvictor).evict(List.of(notificationId));
+    }
+
+    @Test
+    void recordSettled_ShouldKeepSettlementsOfParentsThatAreStillPending() {
+        UUID completed = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        when(notificationRepository.markFanoutSent(eq(Set.of(completed, pending)), any(Instant.class)))
+                .thenReturn(List.of(completed));
+
+        fanoutService.recordSettled(Map.of(completed, Set.of("user-1"), pending, Set.of("user-2")));
+
+        verify(jobRepository).addSettled(completed, Set.of("user-1"));
+        verify(jobRepository).addSettled(pending, Set.of("user-2"));
+        verify(jobRepository).deleteSettledRecipients(List.of(completed));
+        verify(cacheEvictor).evict(List.of(completed));
+    }
+
+    @Test
+    void recordSettled_ShouldKeepParentPendingWhileSettledRecipientsAreMissing() {
+        UUID notificationId = UUID.randomUUID();
+        when(notificationRepository.markFanoutSent(eq(Set.of(notificationId)), any(Instant.class))).thenReturn(List.of());
+
+        fanoutService.recordSettled(Map.of(notificationId, Set.of("user-1")));
+
+        verify(jobRepository).addSettled(notificationId, Set.of("user-1"));
+        verify(jobRepository, never()).deleteSettledRecipients(any());
+        verify(cacheEvictor, never()).evict(any());
+    }
+
+    @Test
+    void runPendingJobs_ShouldStopWhenLeaseWasTakenOver() {
+        FanoutJob job = job(AudienceType.BROADCAST, null, null);
+        when(jobRepository.findClaimableForUpdate(any(Instant.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(notificationRepository.findById(job.getNotificationId()))
+                .thenReturn(Optional.of(notification(job.getNotificationId())));
+        when(jobRepository.findBroadcastRecipientsAfter("", 2)).thenReturn(List.of("user-1", "user-2"));
+        when(kafkaTemplate.send(eq(FANOUT_TOPIC), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(jobRepository.saveCheckpoint(eq(job.getId()), anyString(), eq("user-2"), eq(2L), any()))
+                .thenReturn(0);
+
+        fanoutService.runPendingJobs();
+        awaitWorkers();
+
+        verify(jobRepository, never()).findBroadcastRecipientsAfter("user-2", 2);
+        verify(jobRepository, never()).finish(any(), anyString(), any(), any());
+    }
+
+    @Test
+    void runPendingJobs_ShouldLeaveSchedulerThreadFreeForOutboxPollWhileFanoutRuns() throws Exception {
+        ReflectionTestUtils.setField(fanoutService, "sendTimeoutSeconds", 10L);
+        FanoutJob job = job(AudienceType.BROADCAST, null, null);
+        CountDownLatch fanoutEmitting = new CountDownLatch(1);
+        CountDownLatch releaseFanout = new CountDownLatch(1);
+        CountDownLatch outboxPolled = new CountDownLatch(1);
+        when(jobRepository.findClaimableForUpdate(any(Instant.class)))
+                .thenReturn(Optional.of(job), Optional.empty());
+        when(notificationRepository.findById(job.getNotificationId()))
+                .thenReturn(Optional.of(notification(job.getNotificationId())));
+        when(jobRepository.findBroadcastRecipientsAfter("", 2)).thenReturn(List.of("user-1"));
+        when(jobRepository.findBroadcastRecipientsAfter("user-1", 2)).thenReturn(List.of());
+        when(kafkaTemplate.send(FANOUT_TOPIC, "user-1", job.getNotificationId().toString())).thenAnswer(invocation -> {
+            fanoutEmitting.countDown();
+            releaseFanout.await(10, TimeUnit.SECONDS);
+            return CompletableFuture.completedFuture(null);
+        });
+        when(jobRepository.saveCheckpoint(eq(job.getId()), anyString(), eq("user-1"), eq(1L), any())).thenReturn(1);
+        when(jobRepository.finish(eq(job.getId()), anyString(), eq(FanoutStatus.COMPLETED), any())).thenReturn(1);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scheduler.execute(fanoutService::runPendingJobs);
+            assertThat(fanoutEmitting.await(5, TimeUnit.SECONDS)).isTrue();
+            scheduler.execute(outboxPolled::countDown);
+
+            assertThat(outboxPolled.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(releaseFanout.getCount()).isEqualTo(1);
+
+            releaseFanout.countDown();
+            verify(notificationRepository, timeout(5000))
+                    .markFanoutSent(eq(List.of(job.getNotificationId())), any(Instant.class));
+        } finally {
+            releaseFanout.countDown();
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void awaitWorkers() {
+        fanoutService.stopWorkers();
+        ExecutorService workerPool = (ExecutorService) ReflectionTestUtils.getField(fanoutService, "workerPool");
+        try {
+            assertThat(workerPool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private FanoutJob job(AudienceType audienceType, String audienceTarget, String lastRecipientId) {
+        return FanoutJob.builder()
+                .id(UUID.randomUUID())
+                .notificationId(UUID.randomUUID())
+                .audienceType(audienceType)
+                .audienceTarget(audienceTarget)
+                .lastRecipientId(lastRecipientId)
+                .build();
+    }
+
+    private Notification notification(UUID id) {
+        return Notification.builder()
+                .id(id)
+                .channel(Channel.PUSH)
+                .audienceType(AudienceType.BROADCAST)
+                .payload("payload")
+                .build();
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.notifications.service;
 
 import com.example.notifications.config.KafkaTopicProperties;
+import com.example.notifications.dto.InboxEventType;
+import com.example.notifications.dto.NotificationBatchItemResponse;
+import com.example.notifications.dto.NotificationBatchItemStatus;
+import com.example.notifications.dto.NotificationFeedResponse;
 import com.example.notifications.dto.NotificationRequest;
 import com.example.notifications.dto.NotificationResponse;
+import com.example.notifications.dto.UnreadCountResponse;
+import com.example.notifications.entity.FanoutJob;
 import com.example.notifications.entity.Notification;
 import com.example.notifications.entity.OutboxMessage;
+import com.example.notifications.entity.UnreadCounter;
 import com.example.notifications.entity.enums.AudienceType;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.NotificationPriority;
@@ -13,8 +20,10 @@ import com.example.notifications.entity.enums.Status;
 import com.example.notifications.exception.DuplicateRequestConflictException;
 import com.example.notifications.exception.NotificationNotFoundException;
 import com.example.notifications.mapper.NotificationMapper;
+import com.example.notifications.repository.FanoutJobRepository;
 import com.example.notifications.repository.NotificationRepository;
 import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.repository.UnreadCounterRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,26 +32,39 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -58,6 +80,8 @@ class NotificationServiceImplTest {
     @Mock
     private OutboxMessageRepository outboxRepository;
     @Mock
+    private FanoutJobRepository fanoutJobRepository;
+    @Mock
     private NotificationMapper mapper;
     @Mock
     private KafkaTopicProperties topicProperties;
@@ -65,21 +89,35 @@ class NotificationServiceImplTest {
     private TransactionTemplate transactionTemplate;
     @InjectMocks
     private NotificationServiceImpl service;
+    @Mock
+    private IdempotencyCache idempotencyCache;
+    @Mock
+    private ObjectProvider<CacheManager> cacheManager;
+    @Mock
+    private NotificationCacheEvictor cacheEvictor;
+    @Mock
+    private UnreadCounterRepository unreadCounterRepository;
+    @Mock
+    private InboxStreamService inboxStream;
+    @Mock
+    private TransactionStatus transactionStatus;
     @Captor
-    private ArgumentCaptor<Notification> notificationCaptor;
+    private ArgumentCaptor<List<Notification>> notificationCaptor;
     @Captor
-    private ArgumentCaptor<OutboxMessage> outboxCaptor;
+    private ArgumentCaptor<List<OutboxMessage>> outboxCaptor;
+    @Captor
+    private ArgumentCaptor<List<FanoutJob>> fanoutJobCaptor;
 
     @BeforeEach
     void setUpTransactionTemplate() {
         lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
             TransactionCallback<?> callback = invocation.getArgument(0);
-            return callback.doInTransaction(null);
+            return callback.doInTransaction(transactionStatus);
         });
     }
 
     @Test
-    void createNotifications_ShouldSaveAndEnqueueForEachChannel() {
+    void createNotifications_ShouldInsertNotificationsAndOutboxInSingleStatement() {
         // Given
         NotificationRequest request = NotificationRequest.builder()
                 .recipientId(recipient)
@@ -88,14 +126,9 @@ class NotificationServiceImplTest {
                 .idempotencyKey("request-create")
                 .build();
 
-        when(repository.findByIdempotencyKey("request-create")).thenReturn(List.of());
-        when(topicProperties.topicFor(Channel.EMAIL)).thenReturn("notifications.email");
-        when(topicProperties.topicFor(Channel.SMS)).thenReturn("notifications.sms");
-        when(repository.saveAndFlush(any(Notification.class))).thenAnswer(invocation -> {
-            Notification n = invocation.getArgument(0);
-            n.setId(UUID.randomUUID());
-            return n;
-        });
+        when(topicProperties.topicFor(Channel.EMAIL, NotificationPriority.NORMAL)).thenReturn("notifications.email");
+        when(topicProperties.topicFor(Channel.SMS, NotificationPriority.NORMAL)).thenReturn("notifications.sms");
+        stubInsertIfAbsent();
 
         when(mapper.toDto(any(Notification.class))).thenAnswer(invocation -> {
             Notification n = invocation.getArgument(0);
@@ -117,22 +150,29 @@ class NotificationServiceImplTest {
         List<NotificationResponse> responses = service.createNotifications(request);
 
         // Then
-        verify(repository, times(2)).saveAndFlush(notificationCaptor.capture());
-        verify(outboxRepository, times(2)).save(outboxCaptor.capture());
+        verify(repository).insertIfAbsent(notificationCaptor.capture(), outboxCaptor.capture(), anyList());
+        verify(repository, never()).findByIdempotencyKey(any());
 
-        List<Notification> saved = notificationCaptor.getAllValues();
+        List<Notification> saved = notificationCaptor.getValue();
         assertThat(saved)
+                .allMatch(n -> n.getId() != null)
+                .allMatch(n -> n.getCreatedAt() != null)
                 .allMatch(n -> n.getRecipientId().equals(recipient))
                 .allMatch(n -> n.getAudienceType() == AudienceType.PERSONAL)
                 .allMatch(n -> n.getAudienceTarget().equals(recipient))
                 .allMatch(n -> n.getDestination().equals(recipient))
                 .allMatch(n -> n.getPriority() == NotificationPriority.NORMAL);
-        assertThat(outboxCaptor.getAllValues())
+        assertThat(outboxCaptor.getValue())
                 .extracting(OutboxMessage::getTopic)
                 .containsExactly("notifications.email", "notifications.sms");
-        assertThat(outboxCaptor.getAllValues())
+        assertThat(outboxCaptor.getValue())
+                .extracting(OutboxMessage::getNotificationId)
+                .containsExactly(saved.get(0).getId(), saved.get(1).getId());
+        assertThat(outboxCaptor.getValue())
                 .allMatch(o -> o.getStatus() == OutboxStatus.PENDING)
                 .allMatch(o -> o.getPayload().equals(payload));
+        verify(unreadCounterRepository).add(recipient, 2L);
+        verify(inboxStream).publish(InboxEventType.CREATED, saved);
         assertThat(responses).hasSize(2);
     }
 
@@ -151,14 +191,9 @@ class NotificationServiceImplTest {
                 .channelDestinations(Map.of(Channel.EMAIL, "premium@example.com"))
                 .build();
 
-        when(repository.findByIdempotencyKey("segment-campaign-1")).thenReturn(List.of());
-        when(topicProperties.topicFor(Channel.EMAIL)).thenReturn("notifications.email");
-        when(topicProperties.topicFor(Channel.PUSH)).thenReturn("notifications.push");
-        when(repository.saveAndFlush(any(Notification.class))).thenAnswer(invocation -> {
-            Notification n = invocation.getArgument(0);
-            n.setId(UUID.randomUUID());
-            return n;
-        });
+        when(topicProperties.topicFor(Channel.EMAIL, NotificationPriority.URGENT))
+                .thenReturn("notifications.email.urgent");
+        stubInsertIfAbsent();
         when(mapper.toDto(any(Notification.class))).thenAnswer(invocation -> {
             Notification n = invocation.getArgument(0);
             return NotificationResponse.builder()
@@ -179,10 +214,10 @@ class NotificationServiceImplTest {
         List<NotificationResponse> responses = service.createNotifications(request);
 
         // Then
-        verify(repository, times(2)).saveAndFlush(notificationCaptor.capture());
-        verify(outboxRepository, times(2)).save(outboxCaptor.capture());
+        verify(repository).insertIfAbsent(
+                notificationCaptor.capture(), outboxCaptor.capture(), fanoutJobCaptor.capture());
 
-        List<Notification> saved = notificationCaptor.getAllValues();
+        List<Notification> saved = notificationCaptor.getValue();
         assertThat(saved).extracting(Notification::getChannel)
                 .containsExactly(Channel.EMAIL, Channel.PUSH);
         assertThat(saved)
@@ -194,14 +229,43 @@ class NotificationServiceImplTest {
                 .allMatch(n -> n.getIdempotencyKey().equals("segment-campaign-1"));
         assertThat(saved.get(0).getDestination()).isEqualTo("premium@example.com");
         assertThat(saved.get(1).getDestination()).isNull();
-        assertThat(outboxCaptor.getAllValues())
+        assertThat(outboxCaptor.getValue())
                 .extracting(OutboxMessage::getTopic)
-                .containsExactly("notifications.email", "notifications.push");
+                .containsExactly("notifications.email.urgent");
+        assertThat(outboxCaptor.getValue())
+                .allMatch(o -> o.getPriority() == NotificationPriority.URGENT);
+        assertThat(fanoutJobCaptor.getValue()).hasSize(1);
+        FanoutJob fanoutJob = fanoutJobCaptor.getValue().get(0);
+        assertThat(fanoutJob.getNotificationId()).isEqualTo(saved.get(1).getId());
+        assertThat(fanoutJob.getAudienceType()).isEqualTo(AudienceType.SEGMENT);
+        assertThat(fanoutJob.getAudienceTarget()).isEqualTo("premium-users");
         assertThat(responses).hasSize(2);
     }
 
     @Test
-    void createNotifications_ShouldReturnExistingByIdempotencyKey() {
+    void createNotifications_ShouldNotifyOutboxListenerWhenEnabled() {
+        // Given
+        ReflectionTestUtils.setField(service, "outboxNotifyEnabled", true);
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId(recipient)
+                .payload(payload)
+                .channels(List.of(Channel.EMAIL))
+                .idempotencyKey("request-notify")
+                .build();
+
+        when(topicProperties.topicFor(Channel.EMAIL, NotificationPriority.NORMAL)).thenReturn("notifications.email");
+        stubInsertIfAbsent();
+        when(mapper.toDto(any(Notification.class))).thenReturn(NotificationResponse.builder().id(UUID.randomUUID()).build());
+
+        // When
+        service.createNotifications(request);
+
+        // Then
+        verify(outboxRepository).notifyPending();
+    }
+
+    @Test
+    void createNotifications_ShouldReturnExistingWhenInsertConflicts() {
         // Given
         String idempotencyKey = "request-1";
         UUID id = UUID.randomUUID();
@@ -232,6 +296,7 @@ class NotificationServiceImplTest {
                 .deliveryStatus(Status.PENDING)
                 .idempotencyKey(idempotencyKey)
                 .build();
+        when(repository.insertIfAbsent(anyList(), anyList(), anyList())).thenReturn(0);
         when(repository.findByIdempotencyKey(idempotencyKey)).thenReturn(List.of(existing));
         when(mapper.toDto(existing)).thenReturn(response);
 
@@ -239,18 +304,78 @@ class NotificationServiceImplTest {
         List<NotificationResponse> responses = service.createNotifications(request);
 
         // Then
-        verify(repository, never()).save(any(Notification.class));
-        verify(outboxRepository, never()).save(any(OutboxMessage.class));
+        verify(transactionStatus, never()).setRollbackOnly();
+        verify(outboxRepository, never()).notifyPending();
+        verify(unreadCounterRepository, never()).add(any(), anyLong());
+        verify(inboxStream, never()).publish(any(), any());
         assertThat(responses).containsExactly(response);
     }
 
     @Test
-    void createNotifications_ShouldReturnExistingAfterConcurrentDuplicateInsert() {
+    void createNotifications_ShouldAnswerReplayFromIdempotencyCacheWithoutInsert() {
         // Given
-        String idempotencyKey = "request-race";
-        UUID id = UUID.randomUUID();
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId(recipient)
+                .payload(payload)
+                .channels(List.of(Channel.EMAIL, Channel.SMS))
+                .idempotencyKey("request-cached")
+                .build();
+        CacheManager manager = mock(CacheManager.class);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getIfAvailable()).thenReturn(manager);
+        when(manager.getCache("notification")).thenReturn(cache);
+        when(topicProperties.topicFor(any(Channel.class), eq(NotificationPriority.NORMAL))).thenReturn("notifications");
+        stubInsertIfAbsent();
+        when(mapper.toDto(any(Notification.class))).thenAnswer(invocation -> {
+            Notification n = invocation.getArgument(0);
+            return NotificationResponse.builder().id(n.getId()).channel(n.getChannel()).build();
+        });
+        List<NotificationResponse> created = service.createNotifications(request);
+
+        ArgumentCaptor<String> fingerprint = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyCache).put(eq("request-cached"), fingerprint.capture(),
+                eq(created.stream().map(NotificationResponse::getId).toList()));
+        when(idempotencyCache.find("request-cached")).thenReturn(Optional.of(new IdempotencyCache.Entry(
+                fingerprint.getValue(), List.of(created.get(1).getId(), created.get(0).getId()))));
+        created.forEach(response -> when(cache.get(response.getId().toString(), NotificationResponse.class))
+                .thenReturn(response));
+        request.setChannels(List.of(Channel.SMS, Channel.EMAIL));
+
+        // When
+        List<NotificationResponse> replayed = service.createNotifications(request);
+
+        // Then
+        verify(repository, times(1)).insertIfAbsent(anyList(), anyList(), anyList());
+        verify(repository, never()).findByIdempotencyKey(any());
+        verify(repository, never()).findAllById(any());
+        assertThat(replayed).containsExactly(created.get(1), created.get(0));
+    }
+
+    @Test
+    void createNotifications_ShouldRejectCachedReplayWithDifferentFingerprint() {
+        // Given
+        NotificationRequest request = NotificationRequest.builder()
+                .recipientId(recipient)
+                .payload(payload)
+                .channels(List.of(Channel.EMAIL))
+                .idempotencyKey("request-cached-conflict")
+                .build();
+        when(idempotencyCache.find("request-cached-conflict"))
+                .thenReturn(Optional.of(new IdempotencyCache.Entry("other", List.of(UUID.randomUUID()))));
+
+        // When / Then
+        assertThatThrownBy(() -> service.createNotifications(request))
+                .isInstanceOf(DuplicateRequestConflictException.class)
+                .hasMessageContaining("request-cached-conflict");
+        verify(repository, never()).insertIfAbsent(anyList(), anyList(), anyList());
+    }
+
+    @Test
+    void createNotifications_ShouldRollBackPartialInsertAndRejectChangedChannels() {
+        // Given
+        String idempotencyKey = "request-partial";
         Notification existing = Notification.builder()
-                .id(id)
+                .id(UUID.randomUUID())
                 .recipientId(recipient)
                 .audienceType(AudienceType.PERSONAL)
                 .audienceTarget(recipient)
@@ -264,30 +389,18 @@ class NotificationServiceImplTest {
         NotificationRequest request = NotificationRequest.builder()
                 .recipientId(recipient)
                 .payload(payload)
-                .channels(List.of(Channel.EMAIL))
-                .idempotencyKey(idempotencyKey)
-                .build();
-        NotificationResponse response = NotificationResponse.builder()
-                .id(id)
-                .recipientId(recipient)
-                .channel(Channel.EMAIL)
-                .payload(payload)
-                .deliveryStatus(Status.PENDING)
+                .channels(List.of(Channel.EMAIL, Channel.SMS))
                 .idempotencyKey(idempotencyKey)
                 .build();
 
-        when(repository.findByIdempotencyKey(idempotencyKey))
-                .thenReturn(List.of())
-                .thenReturn(List.of(existing));
-        doThrow(new DataIntegrityViolationException("duplicate idempotency key"))
-                .when(transactionTemplate).execute(any());
-        when(mapper.toDto(existing)).thenReturn(response);
-
-        // When
-        List<NotificationResponse> responses = service.createNotifications(request);
+        when(repository.insertIfAbsent(anyList(), anyList(), anyList())).thenReturn(1);
+        when(repository.findByIdempotencyKey(idempotencyKey)).thenReturn(List.of(existing));
 
-        // Then
-        assertThat(responses).containsExactly(response);
+        // When / Then
+        assertThatThrownBy(() -> service.createNotifications(request))
+                .isInstanceOf(DuplicateRequestConflictException.class)
+                .hasMessageContaining(idempotencyKey);
+        verify(transactionStatus).setRollbackOnly();
     }
 
     @Test
@@ -313,14 +426,154 @@ class NotificationServiceImplTest {
                 .idempotencyKey(idempotencyKey)
                 .build();
 
+        when(repository.insertIfAbsent(anyList(), anyList(), anyList())).thenReturn(0);
         when(repository.findByIdempotencyKey(idempotencyKey)).thenReturn(List.of(existing));
 
         // When / Then
         assertThatThrownBy(() -> service.createNotifications(request))
                 .isInstanceOf(DuplicateRequestConflictException.class)
                 .hasMessageContaining(idempotencyKey);
+        verify(outboxRepository, never()).notifyPending();
+    }
+
+    @Test
+    void createNotificationsBatch_ShouldInsertNewRequestsTogetherAndReportEachItem() {
+        // Given
+        ReflectionTestUtils.setField(service, "batchChunkSize", 500);
+        Notification existing = Notification.builder()
+                .id(UUID.randomUUID())
+                .recipientId(recipient)
+                .audienceType(AudienceType.PERSONAL)
+                .audienceTarget(recipient)
+                .destination(recipient)
+                .channel(Channel.EMAIL)
+                .payload(payload)
+                .priority(NotificationPriority.NORMAL)
+                .status(Status.PENDING)
+                .idempotencyKey("batch-existing")
+                .build();
+        List<NotificationRequest> requests = List.of(
+                batchRequest("batch-new", payload, List.of(Channel.EMAIL, Channel.SMS)),
+                batchRequest("batch-existing", payload, List.of(Channel.EMAIL)),
+                batchRequest("batch-new", "other payload", List.of(Channel.EMAIL, Channel.SMS)));
+
+        when(repository.findByIdempotencyKeyIn(any())).thenReturn(List.of(existing));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(n -> n.setId(UUID.randomUUID()));
+            return notifications;
+        });
+        when(topicProperties.topicFor(any(Channel.class), eq(NotificationPriority.NORMAL))).thenReturn("notifications");
+        when(mapper.toDto(any(Notification.class))).thenAnswer(invocation -> {
+            Notification n = invocation.getArgument(0);
+            return NotificationResponse.builder().id(n.getId()).channel(n.getChannel()).build();
+        });
+
+        // When
+        List<NotificationBatchItemResponse> results = service.createNotificationsBatch(requests);
+
+        // Then
+        verify(repository).findByIdempotencyKeyIn(any());
         verify(repository, never()).saveAndFlush(any(Notification.class));
-        verify(outboxRepository, never()).save(any(OutboxMessage.class));
+        verify(repository).saveAll(argThat(notifications -> ((List<?>) notifications).size() == 2));
+        verify(outboxRepository).saveAll(anyList());
+        verify(unreadCounterRepository).add(recipient, 2L);
+        assertThat(results)
+                .extracting(NotificationBatchItemResponse::getStatus)
+                .containsExactly(NotificationBatchItemStatus.CREATED,
+                        NotificationBatchItemStatus.EXISTING,
+                        NotificationBatchItemStatus.CONFLICT);
+        assertThat(results.get(0).getNotifications()).hasSize(2);
+        assertThat(results.get(1).getNotifications()).extracting(NotificationResponse::getId)
+                .containsExactly(existing.getId());
+        assertThat(results.get(2).getError()).contains("batch-new");
+    }
+
+    @Test
+    void createNotificationsBatch_ShouldFallBackToSingleCreatesOnConcurrentDuplicate() {
+        // Given
+        ReflectionTestUtils.setField(service, "batchChunkSize", 500);
+        NotificationRequest request = batchRequest("batch-race", payload, List.of(Channel.EMAIL));
+        Notification concurrent = Notification.builder()
+                .id(UUID.randomUUID())
+                .recipientId(recipient)
+                .audienceType(AudienceType.PERSONAL)
+                .audienceTarget(recipient)
+                .destination(recipient)
+                .channel(Channel.EMAIL)
+                .payload(payload)
+                .priority(NotificationPriority.NORMAL)
+                .status(Status.PENDING)
+                .idempotencyKey("batch-race")
+                .build();
+        NotificationResponse response = NotificationResponse.builder().id(concurrent.getId()).build();
+
+        when(repository.findByIdempotencyKeyIn(any())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate idempotency key"))
+                .when(transactionTemplate).execute(any());
+        when(repository.findByIdempotencyKey("batch-race")).thenReturn(List.of(concurrent));
+        when(mapper.toDto(concurrent)).thenReturn(response);
+
+        // When
+        List<NotificationBatchItemResponse> results = service.createNotificationsBatch(List.of(request));
+
+        // Then
+        assertThat(results).singleElement().satisfies(item -> {
+            assertThat(item.getStatus()).isEqualTo(NotificationBatchItemStatus.EXISTING);
+            assertThat(item.getNotifications()).containsExactly(response);
+        });
+    }
+
+    @Test
+    void getFeed_ShouldFetchOneExtraRowAndReturnCursorOfLastItem() {
+        // Given
+        Notification newest = feedNotification(Instant.parse("2026-01-03T00:00:00Z"));
+        Notification middle = feedNotification(Instant.parse("2026-01-02T00:00:00Z"));
+        Notification oldest = feedNotification(Instant.parse("2026-01-01T00:00:00Z"));
+        when(repository.findFeedFirstPage(eq(recipient), eq(true), eq(List.of()), eq(false),
+                eq(List.of(Status.PENDING)), eq(Limit.of(3))))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(mapper.toDto(any(Notification.class))).thenAnswer(invocation -> NotificationResponse.builder()
+                .id(((Notification) invocation.getArgument(0)).getId())
+                .build());
+
+        // When
+        NotificationFeedResponse firstPage = service.getFeed(recipient, null, List.of(Status.PENDING), null, 2);
+        service.getFeed(recipient, null, List.of(Status.PENDING), firstPage.getNextCursor(), 2);
+
+        // Then
+        assertThat(firstPage.isHasNext()).isTrue();
+        assertThat(firstPage.getItems()).extracting(NotificationResponse::getId)
+                .containsExactly(newest.getId(), middle.getId());
+        verify(repository).findFeedAfter(eq(recipient), eq(middle.getCreatedAt()), eq(middle.getId()),
+                eq(true), eq(List.of()), eq(false), eq(List.of(Status.PENDING)), eq(Limit.of(3)));
+    }
+
+    @Test
+    void getFeed_ShouldServeUnfilteredFirstPageFromCache() {
+        // Given
+        ReflectionTestUtils.setField(service, "feedCacheEnabled", true);
+        ReflectionTestUtils.setField(service, "feedCachedPageSize", 20);
+        NotificationFeedResponse cached = NotificationFeedResponse.builder().items(List.of()).build();
+        CacheManager manager = mock(CacheManager.class);
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getIfAvailable()).thenReturn(manager);
+        when(manager.getCache("notificationFeed")).thenReturn(cache);
+        when(cache.get(recipient, NotificationFeedResponse.class)).thenReturn(cached);
+
+        // When
+        NotificationFeedResponse feed = service.getFeed(recipient, List.of(), null, null, 20);
+
+        // Then
+        assertThat(feed).isSameAs(cached);
+        verify(repository, never()).findFeedFirstPage(any(), anyBoolean(), any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void getFeed_ShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> service.getFeed(recipient, null, null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cursor");
     }
 
     @Test
@@ -363,7 +616,7 @@ class NotificationServiceImplTest {
     void markAsRead_ShouldSetFlagAndSave() {
         // Given
         UUID id = UUID.randomUUID();
-        Notification entity = Notification.builder().id(id).isRead(false).build();
+        Notification entity = Notification.builder().id(id).recipientId(recipient).isRead(false).build();
         when(repository.findById(id)).thenReturn(Optional.of(entity));
 
         // When
@@ -372,6 +625,42 @@ class NotificationServiceImplTest {
         // Then
         assertThat(entity.getIsRead()).isTrue();
         verify(repository).save(entity);
+        verify(unreadCounterRepository).add(recipient, -1L);
+        verify(cacheEvictor).evictFeeds(List.of(recipient));
+    }
+
+    @Test
+    void markAsRead_ShouldEvictFeedOnlyAfterCommit() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Notification entity = Notification.builder().id(id).recipientId(recipient).isRead(false).build();
+        when(repository.findById(id)).thenReturn(Optional.of(entity));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            service.markAsRead(id);
+
+            // Then
+            verify(cacheEvictor, never()).evictFeeds(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(cacheEvictor).evictFeeds(List.of(recipient));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void markAsRead_ShouldNotDecrementUnreadCountWhenAlreadyRead() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Notification entity = Notification.builder().id(id).recipientId(recipient).isRead(true).build();
+        when(repository.findById(id)).thenReturn(Optional.of(entity));
+
+        // When
+        service.markAsRead(id);
+
+        // Then
+        verify(unreadCounterRepository, never()).add(any(), anyLong());
     }
 
     @Test
@@ -387,11 +676,46 @@ class NotificationServiceImplTest {
         verify(repository, never()).save(any(Notification.class));
     }
 
+    @Test
+    void markAsReadBatch_ShouldRunSingleUpdateAndEvictChangedRowsInBulk() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(repository.markReadByIds(Set.of(first, second))).thenReturn(List.of(readMark(first, recipient)));
+
+        // When
+        int updated = service.markAsRead(List.of(first, second, first));
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        verify(repository, never()).save(any(Notification.class));
+        verify(cacheEvictor).evict(List.of(first));
+        verify(cacheEvictor).evictFeeds(List.of(recipient));
+    }
+
+    @Test
+    void markAllAsRead_ShouldMarkRecipientInboxUpToTimestamp() {
+        // Given
+        Instant before = Instant.parse("2026-01-01T10:00:00Z");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(repository.markAllReadBefore(recipient, before))
+                .thenReturn(List.of(readMark(first, recipient), readMark(second, recipient)));
+
+        // When
+        int updated = service.markAllAsRead(recipient, before);
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        verify(cacheEvictor).evict(List.of(first, second));
+        verify(cacheEvictor).evictFeeds(List.of(recipient, recipient));
+    }
+
     @Test
     void markAsUnread_ShouldClearFlagAndSave() {
         // Given
         UUID id = UUID.randomUUID();
-        Notification entity = Notification.builder().id(id).isRead(true).build();
+        Notification entity = Notification.builder().id(id).recipientId(recipient).isRead(true).build();
         when(repository.findById(id)).thenReturn(Optional.of(entity));
 
         // When
@@ -400,6 +724,39 @@ class NotificationServiceImplTest {
         // Then
         assertThat(entity.getIsRead()).isFalse();
         verify(repository).save(entity);
+        verify(unreadCounterRepository).add(recipient, 1L);
+    }
+
+    @Test
+    void markAsUnread_ShouldNotCountArchivedNotification() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Notification entity = Notification.builder().id(id).recipientId(recipient).isRead(true).archived(true).build();
+        when(repository.findById(id)).thenReturn(Optional.of(entity));
+
+        // When
+        service.markAsUnread(id);
+
+        // Then
+        verify(unreadCounterRepository, never()).add(any(), anyLong());
+    }
+
+    @Test
+    void getUnreadCount_ShouldReadCounterRowAndDefaultToZero() {
+        // Given
+        when(unreadCounterRepository.findById(recipient)).thenReturn(Optional.of(UnreadCounter.builder()
+                .recipientId(recipient)
+                .unreadCount(3L)
+                .build()));
+        when(unreadCounterRepository.findById("nobody")).thenReturn(Optional.empty());
+
+        // When
+        UnreadCountResponse known = service.getUnreadCount(recipient);
+        UnreadCountResponse unknown = service.getUnreadCount("nobody");
+
+        // Then
+        assertThat(known.getUnreadCount()).isEqualTo(3L);
+        assertThat(unknown.getUnreadCount()).isZero();
     }
 
     @Test
@@ -414,4 +771,43 @@ class NotificationServiceImplTest {
                 .hasMessageContaining(id.toString());
         verify(repository, never()).save(any(Notification.class));
     }
+
+    private Notification feedNotification(Instant createdAt) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .recipientId(recipient)
+                .channel(Channel.EMAIL)
+                .payload(payload)
+                .status(Status.PENDING)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private NotificationRepository.ReadMark readMark(UUID id, String recipientId) {
+        return new NotificationRepository.ReadMark() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+
+    private void stubInsertIfAbsent() {
+        when(repository.insertIfAbsent(anyList(), anyList(), anyList()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    private NotificationRequest batchRequest(String idempotencyKey, String body, List<Channel> channels) {
+        return NotificationRequest.builder()
+                .recipientId(recipient)
+                .payload(body)
+                .channels(channels)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
 }
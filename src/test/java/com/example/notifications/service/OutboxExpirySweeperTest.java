@@ -0,0 +1,88 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.OutboxMessageRepository;
+import com.example.notifications.repository.OutboxMessageRepository.ExpiredMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxExpirySweeperTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private NotificationCacheEvictor cacheEvictor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new OutboxExpirySweeper(outboxRepository, transactionTemplate, meterRegistry, cacheEvictor);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void expirePending_ShouldExpireRowsInBulkCountThemAndEvictCaches() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(outboxRepository.expirePending(any(Instant.class))).thenReturn(List.of(
+                expired(first, "user-1"),
+                expired(second, null)
+        ));
+
+        sweeper.expirePending();
+
+        assertThat(meterRegistry.counter("notifications.expired", "stage", "outbox").count()).isEqualTo(2.0);
+        verify(cacheEvictor).evict(List.of(first, second));
+        verify(cacheEvictor).evictFeeds(Arrays.asList("user-1", null));
+    }
+
+    @Test
+    void expirePending_ShouldNotCountWhenNothingExpired() {
+        when(outboxRepository.expirePending(any(Instant.class))).thenReturn(List.of());
+
+        sweeper.expirePending();
+
+        assertThat(meterRegistry.find("notifications.expired").counter()).isNull();
+        verifyNoInteractions(cacheEvictor);
+    }
+
+    private ExpiredMessage expired(UUID notificationId, String recipientId) {
+        return new ExpiredMessage() {
+
+            @Override
+            public UUID getNotificationId() {
+                return notificationId;
+            }
+
+            @Override
+            public String getRecipientId() {
+                return recipientId;
+            }
+        };
+    }
+}
@@ -22,8 +22,11 @@ import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -110,6 +113,89 @@ class OutboxPublisherTest {
         verify(failureService).markFailed(any(), any());
     }
 
+    @Test
+    void publishPending_ShouldPublishPipelinedBatchWithSingleStatusUpdate() {
+        ReflectionTestUtils.setField(publisher, "pipelined", true);
+        OutboxMessage first = message(OutboxStatus.PENDING, 0);
+        OutboxMessage second = message(OutboxStatus.PENDING, 0);
+
+        when(outboxRepository.findPendingForUpdate(50)).thenReturn(List.of(first, second));
+        when(outboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaTemplate.send("notifications.email", "message-key", "payload"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(outboxRepository.markPublished(any(), eq(1L), any())).thenReturn(2);
+
+        publisher.publishPending();
+
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.PUBLISHED);
+        assertThat(second.getStatus()).isEqualTo(OutboxStatus.PUBLISHED);
+        verify(outboxRepository).markPublished(eq(List.of(first.getId(), second.getId())), eq(1L), any(Instant.class));
+        verify(outboxRepository, never()).save(any(OutboxMessage.class));
+        verify(failureService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void publishPending_ShouldWriteBackPipelinedFailuresByTargetStatus() {
+        ReflectionTestUtils.setField(publisher, "pipelined", true);
+        OutboxMessage retry = message(OutboxStatus.PENDING, 0);
+        OutboxMessage exhausted = message(OutboxStatus.PENDING, 2);
+
+        when(outboxRepository.findPendingForUpdate(50)).thenReturn(List.of(retry, exhausted));
+        when(outboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaTemplate.send("notifications.email", "message-key", "payload"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka unavailable")));
+        when(outboxRepository.markPublishFailed(any(), eq(1L), any(), any(), any())).thenReturn(1);
+
+        publisher.publishPending();
+
+        assertThat(retry.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(exhausted.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        verify(outboxRepository).markPublishFailed(eq(List.of(retry.getId())), eq(1L),
+                eq(OutboxStatus.PENDING), any(Instant.class), eq("Kafka unavailable"));
+        verify(outboxRepository).markPublishFailed(eq(List.of(exhausted.getId())), eq(1L),
+                eq(OutboxStatus.FAILED), any(Instant.class), eq("Kafka unavailable"));
+        verify(outboxRepository, never()).markPublished(any(), anyLong(), any());
+        verify(failureService).markFailed(eq("message-key"), any());
+    }
+
+    @Test
+    void publishPending_ShouldNotReportFailureWhenMessageWasReclaimedByAnotherWorker() {
+        ReflectionTestUtils.setField(publisher, "pipelined", true);
+        OutboxMessage exhausted = message(OutboxStatus.PENDING, 2);
+
+        when(outboxRepository.findPendingForUpdate(50)).thenReturn(List.of(exhausted));
+        when(outboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaTemplate.send("notifications.email", "message-key", "payload"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Kafka unavailable")));
+        when(outboxRepository.markPublishFailed(any(), eq(1L), any(), any(), any())).thenReturn(0);
+
+        publisher.publishPending();
+
+        verify(failureService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void publishPending_ShouldLetEveryWorkerClaimFromTheSharedQueue() {
+        ReflectionTestUtils.setField(publisher, "workers", 2);
+        OutboxMessage message = message(OutboxStatus.PENDING, 0);
+
+        when(outboxRepository.findPendingForUpdate(50)).thenReturn(List.of(message), List.of());
+        when(outboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(kafkaTemplate.send("notifications.email", "message-key", "payload"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        publisher.startWorkers();
+        try {
+            publisher.publishPending();
+
+            verify(outboxRepository, timeout(1000).times(2)).findPendingForUpdate(50);
+            verify(outboxRepository, timeout(1000)).save(message);
+        } finally {
+            publisher.stopWorkers();
+        }
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PUBLISHED);
+    }
+
     private OutboxMessage message(OutboxStatus status, int attempts) {
         return OutboxMessage.builder()
                 .id(UUID.randomUUID())
@@ -119,6 +205,7 @@ class OutboxPublisherTest {
                 .payload("payload")
                 .status(status)
                 .attempts(attempts)
+                .version(1L)
                 .createdAt(Instant.now())
                 .build();
     }
@@ -0,0 +1,72 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPurgerTest {
+
+    @Mock
+    private OutboxMessageRepository outboxRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purger = new OutboxPurger(outboxRepository, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(purger, "retentionHours", 24L);
+        ReflectionTestUtils.setField(purger, "batchSize", 100);
+        ReflectionTestUtils.setField(purger, "maxBatches", 3);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void purgePublished_ShouldDeleteInBatchesUntilShortBatchAndReportTotals() {
+        when(outboxRepository.purgePublishedBefore(any(Instant.class), eq(100))).thenReturn(100, 40);
+
+        purger.purgePublished();
+
+        ArgumentCaptor<Instant> thresholdCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository, times(2)).purgePublishedBefore(thresholdCaptor.capture(), eq(100));
+        assertThat(thresholdCaptor.getValue())
+                .isBefore(Instant.now().minus(24, ChronoUnit.HOURS).plusSeconds(1));
+        assertThat(meterRegistry.counter("notifications.outbox.purged").count()).isEqualTo(140.0);
+        assertThat(meterRegistry.timer("notifications.outbox.purge.duration").count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgePublished_ShouldStopAfterMaxBatches() {
+        when(outboxRepository.purgePublishedBefore(any(Instant.class), eq(100))).thenReturn(100);
+
+        purger.purgePublished();
+
+        verify(outboxRepository, times(3)).purgePublishedBefore(any(Instant.class), eq(100));
+        assertThat(meterRegistry.counter("notifications.outbox.purged").count()).isEqualTo(300.0);
+    }
+}
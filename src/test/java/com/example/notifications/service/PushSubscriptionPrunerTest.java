@@ -0,0 +1,67 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.PushSubscriptionRepository;
+import com.example.notifications.service.delivery.PushSubscriptionCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PushSubscriptionPrunerTest {
+
+    @Mock
+    private PushSubscriptionRepository subscriptionRepository;
+    @Mock
+    private PushSubscriptionCache subscriptionCache;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PushSubscriptionPruner pruner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pruner = new PushSubscriptionPruner(subscriptionRepository, subscriptionCache, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(pruner, "staleDays", 30L);
+        ReflectionTestUtils.setField(pruner, "batchSize", 2);
+        ReflectionTestUtils.setField(pruner, "maxBatches", 5);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void pruneStale_ShouldDeactivateInChunksAndInvalidateCachedRecipients() {
+        when(subscriptionRepository.deactivateStale(any(Instant.class), eq(2)))
+                .thenReturn(List.of("user-1", "user-2"), List.of("user-3"));
+
+        pruner.pruneStale();
+
+        ArgumentCaptor<Instant> thresholdCaptor = ArgumentCaptor.forClass(Instant.class);
+        verify(subscriptionRepository, times(2)).deactivateStale(thresholdCaptor.capture(), eq(2));
+        assertThat(thresholdCaptor.getValue()).isBefore(Instant.now().minus(30, ChronoUnit.DAYS).plusSeconds(1));
+        verify(subscriptionCache).invalidateAll(List.of("user-1", "user-2"));
+        verify(subscriptionCache).invalidateAll(List.of("user-3"));
+        assertThat(meterRegistry.counter(PushSubscriptionPruner.PRUNED_METRIC).count()).isEqualTo(3.0);
+    }
+}
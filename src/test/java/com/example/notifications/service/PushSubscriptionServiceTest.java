@@ -4,12 +4,14 @@ import com.example.notifications.dto.PushSubscriptionRequest;
 import com.example.notifications.dto.PushSubscriptionResponse;
 import com.example.notifications.entity.PushSubscription;
 import com.example.notifications.repository.PushSubscriptionRepository;
+import com.example.notifications.service.delivery.PushSubscriptionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,12 +25,14 @@ class PushSubscriptionServiceTest {
 
     @Mock
     private PushSubscriptionRepository repository;
+    @Mock
+    private PushSubscriptionCache subscriptionCache;
 
     private PushSubscriptionService service;
 
     @BeforeEach
     void setUp() {
-        service = new PushSubscriptionService(repository);
+        service = new PushSubscriptionService(repository, subscriptionCache);
     }
 
     @Test
@@ -76,5 +80,6 @@ class PushSubscriptionServiceTest {
         assertThat(response.getPlatform()).isEqualTo("WEB");
         assertThat(response.getActive()).isTrue();
         assertThat(existing.getLastSeenAt()).isNotNull();
+        verify(subscriptionCache).invalidateAll(Arrays.asList("user-1", "old-user"));
     }
 }
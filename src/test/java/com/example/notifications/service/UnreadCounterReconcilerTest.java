@@ -0,0 +1,66 @@
+package com.example.notifications.service;
+
+import com.example.notifications.repository.UnreadCounterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCounterReconcilerTest {
+
+    @Mock
+    private UnreadCounterRepository counterRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UnreadCounterReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new UnreadCounterReconciler(counterRepository, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "batchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void reconcile_ShouldWalkCountersInChunksAndCountCorrections() {
+        when(counterRepository.lockRecipientsAfter("", 2)).thenReturn(List.of("alice", "bob"));
+        when(counterRepository.lockRecipientsAfter("bob", 2)).thenReturn(List.of("carol"));
+        when(counterRepository.reconcile(List.of("alice", "bob"))).thenReturn(1);
+        when(counterRepository.reconcile(List.of("carol"))).thenReturn(1);
+
+        reconciler.reconcile();
+
+        assertThat(meterRegistry.counter("notifications.unread.reconciled").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reconcile_ShouldStopWhenNoCountersLeft() {
+        when(counterRepository.lockRecipientsAfter("", 2)).thenReturn(List.of());
+
+        reconciler.reconcile();
+
+        verify(counterRepository, never()).reconcile(anyCollection());
+        assertThat(meterRegistry.find("notifications.unread.reconciled").counter()).isNull();
+    }
+}
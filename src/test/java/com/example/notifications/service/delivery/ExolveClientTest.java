@@ -1,53 +1,110 @@
 package com.example.notifications.service.delivery;
 
+import com.example.notifications.config.ExolveClientConfig;
 import com.example.notifications.config.ExolveProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
-import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
-import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
-import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
-import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 class ExolveClientTest {
 
-    @Test
-    void send_ShouldPostJsonRequestToExolve() {
+    private static final String RESPONSE = """
+            {
+              "message_id": "439166538239448536",
+              "template_resource_id": 136519
+            }
+            """;
+
+    private final List<CapturedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+    private ExolveClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/messaging/v1/SendSMS", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            requests.add(new CapturedRequest(
+                    exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst(HttpHeaders.AUTHORIZATION),
+                    exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
         ExolveProperties properties = new ExolveProperties();
-        properties.setBaseUrl("https://api.exolve.ru");
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
         properties.setApiKey("api-key");
-        RestClient.Builder builder = RestClient.builder();
-        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
-        ExolveClient client = new ExolveClient(builder, properties);
-
-        server.expect(requestTo("https://api.exolve.ru/messaging/v1/SendSMS"))
-                .andExpect(method(HttpMethod.POST))
-                .andExpect(header(HttpHeaders.AUTHORIZATION, "Bearer api-key"))
-                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(content().json("""
-                        {
-                          "number": "79991112233",
-                          "destination": "79992223344",
-                          "text": "Test message"
-                        }
-                        """))
-                .andRespond(withSuccess("""
-                        {
-                          "message_id": "439166538239448536",
-                          "template_resource_id": 136519
-                        }
-                        """, MediaType.APPLICATION_JSON));
+        properties.setMaxConnections(4);
+        ExolveClientConfig config = new ExolveClientConfig(properties);
+        requestFactory = config.exolveRequestFactory();
+        client = new ExolveClient(config.exolveRestClient(RestClient.builder(), requestFactory), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        requestFactory.destroy();
+        server.stop(0);
+    }
 
+    @Test
+    void send_ShouldPostJsonRequestToExolve() throws Exception {
         ExolveSendSmsResponse response = client.send("79991112233", "79992223344", "Test message");
 
         assertThat(response.getMessageId()).isEqualTo("439166538239448536");
         assertThat(response.getTemplateResourceId()).isEqualTo(136519);
-        server.verify();
+        assertThat(requests).hasSize(1);
+        CapturedRequest request = requests.get(0);
+        assertThat(request.method()).isEqualTo(HttpMethod.POST.name());
+        assertThat(request.path()).isEqualTo("/messaging/v1/SendSMS");
+        assertThat(request.authorization()).isEqualTo("Bearer api-key");
+        assertThat(MediaType.parseMediaType(request.contentType()).isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        JSONAssert.assertEquals("""
+                {
+                  "number": "79991112233",
+                  "destination": "79992223344",
+                  "text": "Test message"
+                }
+                """, request.body(), JSONCompareMode.STRICT);
+    }
+
+    @Test
+    void send_ShouldReusePooledKeepAliveConnection() {
+        for (int i = 0; i < 20; i++) {
+            client.send("79991112233", "79992223344", "Test message " + i);
+        }
+
+        assertThat(requests).hasSize(20);
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    private record CapturedRequest(String method, String path, String authorization, String contentType, String body) {
     }
 }
@@ -0,0 +1,109 @@
+package com.example.notifications.service.delivery;
+
+import com.example.notifications.config.PushProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PushCoalescerTest {
+
+    @Mock
+    private ObjectProvider<FcmClient> fcmClientProvider;
+    @Mock
+    private FcmClient failingClient;
+
+    private PushProperties pushProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private StubFcmClient fcmClient;
+    private PushCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        pushProperties = new PushProperties();
+        pushProperties.getCoalescing().setWindowMs(20);
+        pushProperties.getCoalescing().setMaxBatchSize(3);
+        meterRegistry = new SimpleMeterRegistry();
+        fcmClient = new StubFcmClient(0);
+        lenient().when(fcmClientProvider.getObject()).thenReturn(fcmClient);
+        coalescer = new PushCoalescer(pushProperties, fcmClientProvider, meterRegistry);
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void submit_ShouldCombineConcurrentDeliveriesIntoOneBatchAfterWindow() throws Exception {
+        CompletableFuture<List<FcmSendResult>> first = coalescer.submit(List.of(message("a")));
+        CompletableFuture<List<FcmSendResult>> second = coalescer.submit(List.of(message("unregistered-b")));
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).singleElement()
+                .satisfies(result -> assertThat(result.successful()).isTrue());
+        assertThat(second.get(1, TimeUnit.SECONDS)).singleElement()
+                .satisfies(result -> assertThat(result.invalidToken()).isTrue());
+        assertThat(fcmClient.requestCount()).isEqualTo(1);
+        assertThat(meterRegistry.summary(PushCoalescer.BATCH_SIZE_METRIC).totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void submit_ShouldSendFullBatchesWithoutWaitingAndKeepResultOrder() throws Exception {
+        pushProperties.getCoalescing().setWindowMs(60_000);
+        List<FcmMessage> messages = IntStream.range(0, 6).mapToObj(i -> message("token-" + i)).toList();
+
+        List<FcmSendResult> results = coalescer.submit(messages).get(1, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(FcmSendResult::token)
+                .containsExactly("token-0", "token-1", "token-2", "token-3", "token-4", "token-5");
+        assertThat(fcmClient.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_ShouldReportFailedBatchPerMessage() throws Exception {
+        when(fcmClientProvider.getObject()).thenReturn(failingClient);
+        when(failingClient.sendEach(anyList())).thenThrow(new PushDeliveryException("quota exceeded"));
+
+        List<FcmSendResult> results = coalescer.submit(List.of(message("a"), message("b"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.successful()).isFalse();
+            assertThat(result.invalidToken()).isFalse();
+            assertThat(result.error()).isEqualTo("quota exceeded");
+        });
+    }
+
+    @Test
+    void submit_ShouldFailMessagesMissingFromShortResultList() throws Exception {
+        when(fcmClientProvider.getObject()).thenReturn(failingClient);
+        when(failingClient.sendEach(anyList())).thenReturn(List.of(FcmSendResult.success("a", "message-a")));
+
+        List<FcmSendResult> results = coalescer.submit(List.of(message("a"), message("b"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.successful()).isFalse();
+            assertThat(result.requestFailed()).isTrue();
+        });
+    }
+
+    private FcmMessage message(String token) {
+        return new FcmMessage(token, "title", "body", Map.of());
+    }
+}
@@ -6,6 +6,7 @@ import com.example.notifications.entity.PushSubscription;
 import com.example.notifications.entity.enums.Channel;
 import com.example.notifications.entity.enums.Status;
 import com.example.notifications.repository.PushSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,16 +14,25 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,14 +45,28 @@ class PushSenderTest {
     private ObjectProvider<FcmClient> fcmClientProvider;
     @Mock
     private FcmClient fcmClient;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PushCoalescer coalescer;
 
     private PushProperties pushProperties;
+    private PushSubscriptionCache subscriptionCache;
+    private SimpleMeterRegistry meterRegistry;
     private PushSender sender;
 
     @BeforeEach
     void setUp() {
         pushProperties = new PushProperties();
-        sender = new PushSender(pushProperties, subscriptionRepository, fcmClientProvider);
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionCache = new PushSubscriptionCache(subscriptionRepository, pushProperties, meterRegistry);
+        subscriptionCache.init();
+        sender = new PushSender(pushProperties, subscriptionRepository, fcmClientProvider, transactionTemplate,
+                coalescer, subscriptionCache, meterRegistry);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
     }
 
     @Test
@@ -52,7 +76,7 @@ class PushSenderTest {
         sender.send(notification);
 
         verify(subscriptionRepository, never()).findByRecipientIdAndActiveTrue("user-1");
-        verify(fcmClient, never()).send(eq("token"), eq("title"), eq("body"), argThat(anyMap()));
+        verify(fcmClient, never()).sendMulticast(anyList(), eq("title"), eq("body"), argThat(anyMap()));
     }
 
     @Test
@@ -64,21 +88,22 @@ class PushSenderTest {
         when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1"))
                 .thenReturn(List.of(subscription));
         when(fcmClientProvider.getIfAvailable()).thenReturn(fcmClient);
-        when(fcmClient.send(
-                eq("token"),
+        when(fcmClient.sendMulticast(
+                eq(List.of("token")),
                 eq("NotificationService"),
                 eq("hello"),
                 argThat(dataFor(notification))
-        )).thenReturn("projects/demo/messages/1");
+        )).thenReturn(List.of(FcmSendResult.success("token", "projects/demo/messages/1")));
 
         sender.send(notification);
 
-        verify(fcmClient).send(
-                eq("token"),
+        verify(fcmClient).sendMulticast(
+                eq(List.of("token")),
                 eq("NotificationService"),
                 eq("hello"),
                 argThat(dataFor(notification))
         );
+        verify(subscriptionRepository, never()).deactivateByFcmTokens(anyList());
     }
 
     @Test
@@ -100,18 +125,106 @@ class PushSenderTest {
         when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1"))
                 .thenReturn(List.of(subscription));
         when(fcmClientProvider.getIfAvailable()).thenReturn(fcmClient);
-        when(fcmClient.send(
-                eq("invalid-token"),
+        when(fcmClient.sendMulticast(
+                eq(List.of("invalid-token")),
                 eq("NotificationService"),
                 eq("hello"),
                 argThat(dataFor(notification))
-        )).thenThrow(new PushDeliveryException("invalid token", null, true));
+        )).thenReturn(List.of(FcmSendResult.failure("invalid-token", "invalid token", true)));
 
         assertThatThrownBy(() -> sender.send(notification))
                 .isInstanceOf(PushDeliveryException.class)
                 .hasMessageContaining("failed for all subscriptions");
-        assertThat(subscription.getActive()).isFalse();
-        verify(subscriptionRepository).save(subscription);
+        verify(subscriptionRepository).deactivateByFcmTokens(List.of("invalid-token"));
+
+        when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1")).thenReturn(List.of());
+        assertThatThrownBy(() -> sender.send(notification))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No active FCM push subscriptions");
+    }
+
+    @Test
+    void send_ShouldSplitTokensIntoMulticastBatchesAndDeactivateUnregisteredInOneUpdate() {
+        pushProperties.setProvider(PushProperties.Provider.FCM_STUB);
+        Notification notification = notification();
+        List<PushSubscription> subscriptions = IntStream.range(0, FcmClient.MAX_MULTICAST_TOKENS + 2)
+                .mapToObj(i -> subscription(i < 2 ? StubFcmClient.UNREGISTERED_TOKEN_PREFIX + i : "token-" + i))
+                .toList();
+        StubFcmClient stubClient = new StubFcmClient(0);
+        when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1")).thenReturn(subscriptions);
+        when(fcmClientProvider.getIfAvailable()).thenReturn(stubClient);
+
+        sender.send(notification);
+
+        assertThat(stubClient.requestCount()).isEqualTo(2);
+        verify(subscriptionRepository).deactivateByFcmTokens(List.of(
+                StubFcmClient.UNREGISTERED_TOKEN_PREFIX + 0,
+                StubFcmClient.UNREGISTERED_TOKEN_PREFIX + 1));
+    }
+
+    @Test
+    void sendAsync_ShouldSubmitMessagePerTokenToCoalescerAndFailWhenNoTokenAccepted() {
+        pushProperties.setProvider(PushProperties.Provider.FCM);
+        Notification notification = notification();
+        when(coalescer.isEnabled()).thenReturn(true);
+        when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1"))
+                .thenReturn(List.of(subscription("first"), subscription("second")));
+        when(fcmClientProvider.getIfAvailable()).thenReturn(fcmClient);
+        when(coalescer.submit(argThat(messages -> messages.size() == 2
+                && messages.get(0).token().equals("first")
+                && messages.get(1).token().equals("second")
+                && dataFor(notification).matches(messages.get(0).data()))))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        FcmSendResult.failure("first", "unavailable", false),
+                        FcmSendResult.failure("second", "unregistered", true))));
+
+        CompletableFuture<Void> result = sender.sendAsync(notification);
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(PushDeliveryException.class);
+        verify(subscriptionRepository).deactivateByFcmTokens(List.of("second"));
+        verify(fcmClient, never()).sendMulticast(anyList(), any(), any(), any());
+    }
+
+    @Test
+    void send_ShouldCountTransientTokenFailuresAndResetRecoveredTokens() {
+        pushProperties.setProvider(PushProperties.Provider.FCM);
+        Notification notification = notification();
+        PushSubscription flaky = subscription("flaky");
+        PushSubscription recovered = subscription("recovered");
+        recovered.setFailureCount(2);
+        when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1")).thenReturn(List.of(flaky, recovered));
+        when(fcmClientProvider.getIfAvailable()).thenReturn(fcmClient);
+        when(fcmClient.sendMulticast(eq(List.of("flaky", "recovered")), any(), any(), any())).thenReturn(List.of(
+                FcmSendResult.failure("flaky", "UNAVAILABLE", false),
+                FcmSendResult.success("recovered", "projects/demo/messages/1")));
+
+        sender.send(notification);
+
+        verify(subscriptionRepository).recordFailures(eq(List.of("flaky")), eq(5), any(Instant.class));
+        verify(subscriptionRepository).resetFailures(List.of("recovered"));
+        verify(subscriptionRepository, never()).deactivateByFcmTokens(anyList());
+    }
+
+    @Test
+    void send_ShouldSkipSuppressedTokensAndCountAvoidedCalls() {
+        pushProperties.setProvider(PushProperties.Provider.FCM);
+        Notification notification = notification();
+        PushSubscription suppressed = subscription("suppressed");
+        suppressed.setFailureCount(5);
+        suppressed.setSuppressedUntil(Instant.now().plusSeconds(600));
+        when(subscriptionRepository.findByRecipientIdAndActiveTrue("user-1"))
+                .thenReturn(List.of(suppressed, subscription("healthy")));
+        when(fcmClientProvider.getIfAvailable()).thenReturn(fcmClient);
+        when(fcmClient.sendMulticast(eq(List.of("healthy")), any(), any(), any()))
+                .thenReturn(List.of(FcmSendResult.success("healthy", "projects/demo/messages/1")));
+
+        sender.send(notification);
+        sender.send(notification);
+
+        assertThat(meterRegistry.counter(PushSender.CALLS_AVOIDED_METRIC, "reason", "suppressed").count())
+                .isEqualTo(2.0);
+        verify(subscriptionRepository, times(1)).findByRecipientIdAndActiveTrue("user-1");
     }
 
     private Notification notification() {
@@ -0,0 +1,97 @@
+package com.example.notifications.service.delivery;
+
+import com.example.notifications.config.PushProperties;
+import com.example.notifications.entity.PushSubscription;
+import com.example.notifications.repository.PushSubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PushSubscriptionCacheTest {
+
+    @Mock
+    private PushSubscriptionRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PushSubscriptionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PushSubscriptionCache(repository, new PushProperties(), meterRegistry);
+        cache.init();
+    }
+
+    @Test
+    void activeTokens_ShouldServeRepeatedLookupsFromCacheUntilInvalidated() {
+        when(repository.findByRecipientIdAndActiveTrue("user-1"))
+                .thenReturn(List.of(subscription("a"), subscription("b")));
+
+        assertThat(cache.activeTokens("user-1")).extracting(PushToken::token).containsExactly("a", "b");
+        assertThat(cache.activeTokens("user-1")).extracting(PushToken::token).containsExactly("a", "b");
+        cache.invalidate("user-1");
+        assertThat(cache.activeTokens("user-1")).extracting(PushToken::token).containsExactly("a", "b");
+
+        verify(repository, times(2)).findByRecipientIdAndActiveTrue("user-1");
+        assertThat(meterRegistry.counter(PushSubscriptionCache.LOOKUP_METRIC, "result", "hit").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter(PushSubscriptionCache.LOOKUP_METRIC, "result", "miss").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void activeTokens_ShouldNotRecacheLoadThatRacedWithInvalidation() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(repository.findByRecipientIdAndActiveTrue("user-1"))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    releaseLoad.await(5, TimeUnit.SECONDS);
+                    return List.of(subscription("stale"));
+                })
+                .thenReturn(List.of(subscription("fresh")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<PushToken>> lookup = executor.submit(() -> cache.activeTokens("user-1"));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            CountDownLatch invalidating = new CountDownLatch(1);
+            Future<?> invalidation = executor.submit(() -> {
+                invalidating.countDown();
+                cache.invalidate("user-1");
+            });
+            assertThat(invalidating.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            releaseLoad.countDown();
+            lookup.get(5, TimeUnit.SECONDS);
+            invalidation.get(5, TimeUnit.SECONDS);
+        } finally {
+            releaseLoad.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.activeTokens("user-1")).extracting(PushToken::token).containsExactly("fresh");
+    }
+
+    private PushSubscription subscription(String token) {
+        return PushSubscription.builder()
+                .recipientId("user-1")
+                .fcmToken(token)
+                .active(true)
+                .build();
+    }
+}
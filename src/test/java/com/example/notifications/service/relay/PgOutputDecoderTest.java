@@ -0,0 +1,162 @@
+package com.example.notifications.service.relay;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgOutputDecoderTest {
+
+    private PgOutputDecoder decoder;
+    private RecordingHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new PgOutputDecoder();
+        handler = new RecordingHandler();
+    }
+
+    @Test
+    void decode_ShouldReportInsertedTupleByColumnName() throws IOException {
+        decoder.decode(relation(16384, "notification_outbox", "topic", "message_key", "payload"), handler);
+        decoder.decode(begin(), handler);
+        decoder.decode(insert(16384, "notifications.email", "key-1", null), handler);
+        decoder.decode(commit(0x1F00L), handler);
+
+        assertThat(handler.events).containsExactly("begin", "insert notification_outbox", "commit 7936");
+        assertThat(handler.inserts).hasSize(1);
+        assertThat(handler.inserts.get(0))
+                .containsEntry("topic", "notifications.email")
+                .containsEntry("message_key", "key-1")
+                .containsEntry("payload", null);
+    }
+
+    @Test
+    void parseTimestamp_ShouldReadPostgresTextTimestampsWithOffsets() {
+        assertThat(PgOutputDecoder.parseTimestamp("2026-10-18 15:47:54.123456+00"))
+                .isEqualTo(Instant.parse("2026-10-18T15:47:54.123456Z"));
+        assertThat(PgOutputDecoder.parseTimestamp("2026-10-18 15:47:54+05:30"))
+                .isEqualTo(Instant.parse("2026-10-18T10:17:54Z"));
+        assertThat(PgOutputDecoder.parseTimestamp(null)).isNull();
+    }
+
+    @Test
+    void decode_ShouldIgnoreUnsupportedMessageTypes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('O');
+        out.writeLong(1L);
+        writeString(out, "origin");
+
+        decoder.decode(ByteBuffer.wrap(bytes.toByteArray()), handler);
+
+        assertThat(handler.events).isEmpty();
+    }
+
+    @Test
+    void decode_ShouldRejectInsertForUnknownRelation() throws IOException {
+        ByteBuffer insert = insert(42, "topic");
+
+        assertThatThrownBy(() -> decoder.decode(insert, handler))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("42");
+    }
+
+    private ByteBuffer relation(int relationId, String table, String... columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('R');
+        out.writeInt(relationId);
+        writeString(out, "public");
+        writeString(out, table);
+        out.writeByte('d');
+        out.writeShort(columns.length);
+        for (String column : columns) {
+            out.writeByte(0);
+            writeString(out, column);
+            out.writeInt(25);
+            out.writeInt(-1);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private ByteBuffer begin() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('B');
+        out.writeLong(0x1F00L);
+        out.writeLong(0L);
+        out.writeInt(750);
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private ByteBuffer insert(int relationId, String... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('I');
+        out.writeInt(relationId);
+        out.writeByte('N');
+        out.writeShort(values.length);
+        for (String value : values) {
+            if (value == null) {
+                out.writeByte('n');
+            } else {
+                byte[] text = value.getBytes(StandardCharsets.UTF_8);
+                out.writeByte('t');
+                out.writeInt(text.length);
+                out.write(text);
+            }
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private ByteBuffer commit(long endLsn) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte('C');
+        out.writeByte(0);
+        out.writeLong(endLsn - 8);
+        out.writeLong(endLsn);
+        out.writeLong(0L);
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.writeByte(0);
+    }
+
+    private static final class RecordingHandler implements PgOutputDecoder.Handler {
+
+        private final List<String> events = new ArrayList<>();
+        private final List<Map<String, String>> inserts = new ArrayList<>();
+
+        @Override
+        public void onBegin() {
+            events.add("begin");
+        }
+
+        @Override
+        public void onInsert(String table, Map<String, String> values) {
+            events.add("insert " + table);
+            inserts.add(new LinkedHashMap<>(values));
+        }
+
+        @Override
+        public void onCommit(long endLsn) {
+            events.add("commit " + endLsn);
+        }
+    }
+}